@@ -0,0 +1,65 @@
+package com.example.hub.benchmark;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.service.AuthorService;
+import com.example.hub.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the read paths behind the list, search and detail pages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookReadBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    
+    private BookService bookService;
+    private AuthorService authorService;
+    
+    @Setup
+    public void setUp(CatalogState catalog) {
+        bookService = catalog.bean(BookService.class);
+        authorService = catalog.bean(AuthorService.class);
+    }
+    
+    @Benchmark
+    public List<Book> searchBooks() {
+        return bookService.searchBooks(BenchmarkCatalog.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkCatalog.WORDS.length)]);
+    }
+    
+    @Benchmark
+    public Page<Book> getAllBooksFirstPage() {
+        return bookService.getAllBooks(PageRequest.of(0, PAGE_SIZE, Sort.by("title")));
+    }
+    
+    @Benchmark
+    public Page<Book> getAllBooksDeepOffset(CatalogState catalog) {
+        return bookService.getAllBooks(PageRequest.of(catalog.books / PAGE_SIZE - 1, PAGE_SIZE, Sort.by("title")));
+    }
+    
+    @Benchmark
+    public Book getBookWithAuthor(CatalogState catalog) {
+        return bookService.getBookWithAuthor(catalog.bookIds[ThreadLocalRandom.current().nextInt(catalog.bookIds.length)]);
+    }
+    
+    @Benchmark
+    public List<Author> getAuthorsWithMoreThanBooks() {
+        return authorService.getAuthorsWithMoreThanBooks(0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hub.benchmark;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of single-book creation through the service, including ISBN validation, the
+ * author lookup, counter maintenance and the post-commit index and cache updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookWriteBenchmark {
+    
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    
+    private BookService bookService;
+    private String isbnPrefix;
+    private int sequence;
+    
+    @Setup
+    public void setUp(CatalogState catalog) {
+        bookService = catalog.bean(BookService.class);
+        isbnPrefix = "JMH-" + THREADS.incrementAndGet() + "-" + System.nanoTime() % 100_000 + "-";
+    }
+    
+    @Benchmark
+    public Book createBook(CatalogState catalog) {
+        Author author = new Author();
+        author.setId(catalog.authorIds[ThreadLocalRandom.current().nextInt(catalog.authorIds.length)]);
+        Book book = new Book();
+        book.setTitle("Benchmark book " + sequence);
+        book.setIsbn(isbnPrefix + sequence++);
+        book.setDescription("Created by the write benchmark");
+        book.setPrice(new BigDecimal("12.99"));
+        book.setGenre(Book.Genre.FICTION);
+        book.setAuthor(author);
+        return bookService.createBook(book);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hub.benchmark;
+
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The application without its web server, on embedded H2 seeded with {@link #books} books.
+ * One instance is shared by all benchmark threads of a trial.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+    
+    @Param({"10000"})
+    public int books;
+    
+    public ConfigurableApplicationContext context;
+    public long[] bookIds;
+    public long[] authorIds;
+    
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkCatalog.start(BenchmarkCatalog.application().web(WebApplicationType.NONE), "jmh", books);
+        bookIds = ids(context.getBean(BookRepository.class).findAll(Sort.by("id"))
+                .stream().map(book -> book.getId()).collect(Collectors.toList()));
+        authorIds = ids(context.getBean(AuthorRepository.class).findAll(Sort.by("id"))
+                .stream().map(author -> author.getId()).collect(Collectors.toList()));
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    private static long[] ids(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
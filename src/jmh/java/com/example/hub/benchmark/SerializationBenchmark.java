@@ -0,0 +1,59 @@
+package com.example.hub.benchmark;
+
+import com.example.hub.dto.BookDetail;
+import com.example.hub.dto.BookListItem;
+import com.example.hub.entity.Book;
+import com.example.hub.service.BookService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning loaded entities into the JSON the REST API sends, with the application's
+ * own {@link ObjectMapper}. Entities are serialized through their response DTOs, as the
+ * controllers do; the entity graph itself is not serializable (lazy, bidirectional).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private Book book;
+    private BookDetail detail;
+    private Slice<BookListItem> page;
+    
+    @Setup
+    public void setUp(CatalogState catalog) {
+        objectMapper = catalog.bean(ObjectMapper.class);
+        BookService bookService = catalog.bean(BookService.class);
+        book = bookService.getBookWithAuthor(catalog.bookIds[catalog.bookIds.length / 2]);
+        detail = BookDetail.from(book);
+        page = bookService.getAllBookItems(PageRequest.of(0, 20));
+    }
+    
+    @Benchmark
+    public byte[] bookEntityToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(BookDetail.from(book));
+    }
+    
+    @Benchmark
+    public byte[] bookDetailToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+    
+    @Benchmark
+    public byte[] listPageToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
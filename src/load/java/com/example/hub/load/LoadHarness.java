@@ -0,0 +1,221 @@
+package com.example.hub.load;
+
+import com.example.hub.benchmark.BenchmarkCatalog;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model HTTP load generator: starts the application on a random port, seeds it, then
+ * drives a {@link LoadScenario} and reports throughput and HdrHistogram percentiles per route.
+ * <p>
+ * Every route has its own scheduler thread that sends asynchronously at the scheduled
+ * instants and never waits for responses, so a slow server cannot slow the arrival rate
+ * down (no coordinated omission). Run with
+ * <pre>
+ * mvn -Pload verify -Dload.scenario=scenarios/mixed.json
+ * </pre>
+ * The scenario is a classpath resource or a file path. Further {@code --name=value}
+ * arguments are passed to the application, e.g. a local PostgreSQL's
+ * {@code --spring.datasource.url}. A JSON report is written to {@code target/load-results}.
+ */
+public final class LoadHarness {
+    
+    private static final double[] REPORTED_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+    
+    private LoadHarness() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String scenarioLocation = "scenarios/mixed.json";
+        List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0"));
+        for (String arg : args) {
+            if (arg.startsWith("--scenario=")) {
+                scenarioLocation = arg.substring("--scenario=".length());
+            } else if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        LoadScenario scenario;
+        try (InputStream in = open(scenarioLocation)) {
+            scenario = mapper.readValue(in, LoadScenario.class);
+        }
+        
+        try (ConfigurableApplicationContext context = BenchmarkCatalog.start(BenchmarkCatalog.application(), "load", scenario.getBooks(),
+                applicationArgs.toArray(new String[0]))) {
+            RequestTemplates templates = new RequestTemplates(
+                    ids(context.getBean(BookRepository.class).findAll(Sort.by("id")).stream().map(book -> book.getId())),
+                    ids(context.getBean(AuthorRepository.class).findAll(Sort.by("id")).stream().map(author -> author.getId())));
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            
+            System.out.printf("Scenario %s: %d books, %s arrivals, %d s warm-up, %d s measured%n", scenario.getName(),
+                    scenario.getBooks(), scenario.getArrivals(), scenario.getWarmupSeconds(), scenario.getDurationSeconds());
+            drive(client, baseUrl, templates, scenario, scenario.getWarmupSeconds());
+            Map<String, RouteStats> stats = drive(client, baseUrl, templates, scenario, scenario.getDurationSeconds());
+            
+            ObjectNode report = report(mapper, scenario, stats);
+            Path output = Path.of("target", "load-results", scenario.getName() + ".json");
+            Files.createDirectories(output.getParent());
+            mapper.writeValue(output.toFile(), report);
+            System.out.println("Report written to " + output);
+        }
+    }
+    
+    /**
+     * Runs every route's arrival schedule for {@code seconds}, then waits for outstanding responses.
+     */
+    private static Map<String, RouteStats> drive(HttpClient client, String baseUrl, RequestTemplates templates,
+                                                 LoadScenario scenario, int seconds) throws InterruptedException {
+        Map<String, RouteStats> stats = new LinkedHashMap<>();
+        List<Thread> schedulers = new ArrayList<>();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (LoadScenario.RouteSpec route : scenario.getRoutes()) {
+            RouteStats routeStats = new RouteStats();
+            stats.put(route.getName(), routeStats);
+            Thread scheduler = new Thread(() -> schedule(client, baseUrl, templates, scenario.getArrivals(), route,
+                    routeStats, start, end), "load-" + route.getName());
+            scheduler.setDaemon(true);
+            schedulers.add(scheduler);
+            scheduler.start();
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (stats.values().stream().anyMatch(routeStats -> routeStats.getInFlight() > 0)
+                && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+    
+    private static void schedule(HttpClient client, String baseUrl, RequestTemplates templates,
+                                 LoadScenario.Arrivals arrivals, LoadScenario.RouteSpec route, RouteStats stats,
+                                 long start, long end) {
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / route.getRate();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intended = start;
+        while (true) {
+            intended += arrivals == LoadScenario.Arrivals.POISSON
+                    ? (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos)
+                    : (long) meanGapNanos;
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(client, baseUrl, templates, route, stats, intended);
+        }
+    }
+    
+    private static void send(HttpClient client, String baseUrl, RequestTemplates templates,
+                             LoadScenario.RouteSpec route, RouteStats stats, long intendedStart) {
+        String body = templates.expand(route.getBody());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + templates.expand(route.getPath())))
+                .timeout(Duration.ofSeconds(DRAIN_TIMEOUT_SECONDS))
+                .header("Content-Type", "application/json")
+                .method(route.getMethod(), body != null
+                        ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        stats.scheduled();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null) {
+                stats.completed(intendedStart, failure.getClass().getSimpleName(), false);
+            } else {
+                int status = response.statusCode();
+                stats.completed(intendedStart, Integer.toString(status), status < 400);
+            }
+        });
+    }
+    
+    private static ObjectNode report(ObjectMapper mapper, LoadScenario scenario, Map<String, RouteStats> stats) {
+        ObjectNode report = mapper.createObjectNode();
+        report.put("scenario", scenario.getName());
+        report.put("books", scenario.getBooks());
+        report.put("arrivals", scenario.getArrivals().name());
+        report.put("durationSeconds", scenario.getDurationSeconds());
+        ArrayNode routes = report.putArray("routes");
+        
+        System.out.printf("%n%-14s %9s %9s %8s %9s %9s %9s %9s %9s %7s%n", "route", "target/s", "actual/s", "sent",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (LoadScenario.RouteSpec route : scenario.getRoutes()) {
+            RouteStats routeStats = stats.get(route.getName());
+            Histogram histogram = routeStats.histogram();
+            double actualRate = histogram.getTotalCount() / (double) scenario.getDurationSeconds();
+            
+            ObjectNode node = routes.addObject();
+            node.put("name", route.getName());
+            node.put("method", route.getMethod());
+            node.put("path", route.getPath());
+            node.put("targetRate", route.getRate());
+            node.put("actualRate", actualRate);
+            node.put("sent", routeStats.getScheduled());
+            node.put("completed", histogram.getTotalCount());
+            node.put("errors", routeStats.getErrors());
+            ObjectNode outcomes = node.putObject("outcomes");
+            routeStats.getOutcomes().forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            ObjectNode latency = node.putObject("latencyMillis");
+            StringBuilder line = new StringBuilder(String.format("%-14s %9.1f %9.1f %8d", route.getName(),
+                    route.getRate(), actualRate, routeStats.getScheduled()));
+            for (double percentile : REPORTED_PERCENTILES) {
+                double millis = histogram.getValueAtPercentile(percentile) / 1e6;
+                latency.put("p" + (percentile % 1 == 0 ? Integer.toString((int) percentile) : Double.toString(percentile)),
+                        millis);
+                line.append(String.format(" %9.2f", millis));
+            }
+            latency.put("max", histogram.getMaxValue() / 1e6);
+            line.append(String.format(" %9.2f %7d", histogram.getMaxValue() / 1e6, routeStats.getErrors()));
+            System.out.println(line);
+        }
+        return report;
+    }
+    
+    private static InputStream open(String location) throws IOException {
+        File file = new File(location);
+        return file.isFile() ? Files.newInputStream(file.toPath()) : new ClassPathResource(location).getInputStream();
+    }
+    
+    private static long[] ids(Stream<Long> ids) {
+        return ids.mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hub.load;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A declarative open-model workload, read from JSON: each route receives requests at its
+ * own fixed arrival rate, whether or not earlier requests have completed.
+ */
+public class LoadScenario {
+    
+    public enum Arrivals {
+        /** Evenly spaced requests. */
+        CONSTANT,
+        /** Exponentially distributed gaps with the same mean rate. */
+        POISSON
+    }
+    
+    private String name;
+    private int books = 5000;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private Arrivals arrivals = Arrivals.POISSON;
+    private List<RouteSpec> routes = new ArrayList<>();
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public int getBooks() {
+        return books;
+    }
+    
+    public void setBooks(int books) {
+        this.books = books;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+    
+    public Arrivals getArrivals() {
+        return arrivals;
+    }
+    
+    public void setArrivals(Arrivals arrivals) {
+        this.arrivals = arrivals;
+    }
+    
+    public List<RouteSpec> getRoutes() {
+        return routes;
+    }
+    
+    public void setRoutes(List<RouteSpec> routes) {
+        this.routes = routes;
+    }
+    
+    /**
+     * One request type of a scenario. {@code path} and {@code body} may contain placeholders,
+     * see {@link RequestTemplates}.
+     */
+    public static class RouteSpec {
+        
+        private String name;
+        private String method = "GET";
+        private String path;
+        private String body;
+        private double rate;
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public void setMethod(String method) {
+            this.method = method;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public void setPath(String path) {
+            this.path = path;
+        }
+        
+        public String getBody() {
+            return body;
+        }
+        
+        public void setBody(String body) {
+            this.body = body;
+        }
+        
+        /**
+         * Target arrivals per second.
+         */
+        public double getRate() {
+            return rate;
+        }
+        
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+    }
+}
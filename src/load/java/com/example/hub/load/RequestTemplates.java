@@ -0,0 +1,63 @@
+package com.example.hub.load;
+
+import com.example.hub.benchmark.BenchmarkCatalog;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Expands placeholders in scenario paths and bodies:
+ * <ul>
+ *     <li>{@code {bookId}}, {@code {authorId}}: a random seeded book or author</li>
+ *     <li>{@code {word}}: a random word from the catalog vocabulary</li>
+ *     <li>{@code {page}}: a random list page number, for pages of ten</li>
+ *     <li>{@code {uid}}: a short value unique across requests and runs, for ISBNs</li>
+ * </ul>
+ */
+public class RequestTemplates {
+    
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(bookId|authorId|word|page|uid)}");
+    
+    private final long[] bookIds;
+    private final long[] authorIds;
+    private final String runToken = Long.toString(System.currentTimeMillis() / 1000 % 1_000_000, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    
+    public RequestTemplates(long[] bookIds, long[] authorIds) {
+        this.bookIds = bookIds;
+        this.authorIds = authorIds;
+    }
+    
+    public String expand(String template) {
+        if (template == null || template.indexOf('{') < 0) {
+            return template;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder expanded = new StringBuilder();
+        while (matcher.find()) {
+            String value;
+            switch (matcher.group(1)) {
+                case "bookId":
+                    value = Long.toString(bookIds[random.nextInt(bookIds.length)]);
+                    break;
+                case "authorId":
+                    value = Long.toString(authorIds[random.nextInt(authorIds.length)]);
+                    break;
+                case "word":
+                    value = BenchmarkCatalog.WORDS[random.nextInt(BenchmarkCatalog.WORDS.length)];
+                    break;
+                case "page":
+                    value = Integer.toString(random.nextInt(Math.max(1, bookIds.length / 10)));
+                    break;
+                default:
+                    value = runToken + '-' + Long.toString(sequence.incrementAndGet(), 36);
+            }
+            matcher.appendReplacement(expanded, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(expanded);
+        return expanded.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.hub.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one route during one phase. Latency runs from the request's
+ * scheduled send time, not its actual one, so a stalled server or client shows up as
+ * latency instead of as fewer samples.
+ */
+public class RouteStats {
+    
+    private final Recorder latencies = new Recorder(3);
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    
+    void scheduled() {
+        scheduled.increment();
+        inFlight.incrementAndGet();
+    }
+    
+    void completed(long intendedStartNanos, String outcome, boolean success) {
+        latencies.recordValue(Math.max(0, System.nanoTime() - intendedStartNanos));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+        inFlight.decrementAndGet();
+    }
+    
+    long getInFlight() {
+        return inFlight.get();
+    }
+    
+    long getScheduled() {
+        return scheduled.sum();
+    }
+    
+    long getErrors() {
+        return errors.sum();
+    }
+    
+    Map<String, LongAdder> getOutcomes() {
+        return outcomes;
+    }
+    
+    Histogram histogram() {
+        return latencies.getIntervalHistogram();
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.hub.cache;
+
+import com.example.hub.dto.AuthorOption;
+import com.example.hub.entity.Author;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.search.TextAnalyzer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cached id-to-name directory of all authors for pickers and typeahead.
+ * <p>
+ * Held as immutable arrays sorted by normalized name, by id and by every later word of the
+ * name, so a search is a binary search over a prefix range and a page is an array slice. The
+ * first read loads the directory with a single two-column query; committed author writes are
+ * then applied to a copy of the arrays, which replaces the published snapshot. A first load
+ * inside a read-write transaction, which may see that transaction's own writes, is used but
+ * never kept.
+ */
+@Component
+public class AuthorDirectory {
+    
+    private static final Comparator<Entry> NAME_ORDER = Comparator
+            .comparing((Entry entry) -> entry.normalizedName)
+            .thenComparingLong(entry -> entry.id);
+    private static final Comparator<Entry> ID_ORDER = Comparator.comparingLong(entry -> entry.id);
+    private static final Comparator<Word> WORD_ORDER = Comparator
+            .comparing((Word word) -> word.suffix)
+            .thenComparingLong(word -> word.entry.id);
+    
+    @Autowired
+    private AuthorRepository authorRepository;
+    
+    // Not a monitor: the load queries the database and must not pin a virtual thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private List<AuthorChangedEvent> pendingDuringLoad;
+    
+    public int size() {
+        return snapshot().byName.length;
+    }
+    
+    public AuthorOption find(Long id) {
+        Entry entry = snapshot().byId(id);
+        return entry != null ? entry.toOption() : null;
+    }
+    
+    /**
+     * Authors, in name order, with a name word starting with {@code query}; all authors when
+     * the query is blank.
+     */
+    public Slice<AuthorOption> search(String query, Pageable pageable) {
+        Snapshot current = snapshot();
+        String prefix = query != null ? TextAnalyzer.normalize(query).trim() : "";
+        List<Entry> matches = prefix.isEmpty() ? Arrays.asList(current.byName) : current.matching(prefix);
+        
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = (int) Math.min((long) from + pageable.getPageSize(), matches.size());
+        List<AuthorOption> content = new ArrayList<>(to - from);
+        for (Entry entry : matches.subList(from, to)) {
+            content.add(entry.toOption());
+        }
+        return new SliceImpl<>(content, pageable, to < matches.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorChanged(AuthorChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.apply(event);
+        }
+        if (pendingDuringLoad != null) {
+            pendingDuringLoad.add(event);
+        }
+    }
+    
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                pendingDuringLoad = new ArrayList<>();
+            }
+            List<AuthorOption> options;
+            try {
+                options = authorRepository.findAllOptions();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingDuringLoad = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                // Writes that committed during the query may or may not be in its result; applying
+                // them again is harmless, as each one replaces the author's entry
+                Snapshot loaded = Snapshot.of(options);
+                for (AuthorChangedEvent event : pendingDuringLoad) {
+                    loaded = loaded.apply(event);
+                }
+                pendingDuringLoad = null;
+                if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    snapshot = loaded;
+                }
+                return loaded;
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+    
+    /**
+     * Index of the first element whose key is not less than {@code key}.
+     */
+    private static <T> int lowerBound(T[] sorted, Function<T, String> keyOf, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyOf.apply(sorted[middle]).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private static <T> T[] insert(T[] sorted, T value, Comparator<? super T> order) {
+        int index = Arrays.binarySearch(sorted, value, order);
+        int at = index < 0 ? -index - 1 : index;
+        T[] copy = Arrays.copyOf(sorted, sorted.length + 1);
+        System.arraycopy(sorted, at, copy, at + 1, sorted.length - at);
+        copy[at] = value;
+        return copy;
+    }
+    
+    private static <T> T[] remove(T[] sorted, T value, Comparator<? super T> order) {
+        int index = Arrays.binarySearch(sorted, value, order);
+        if (index < 0) {
+            return sorted;
+        }
+        T[] copy = Arrays.copyOf(sorted, sorted.length - 1);
+        System.arraycopy(sorted, index + 1, copy, index, sorted.length - index - 1);
+        return copy;
+    }
+    
+    private static final class Entry {
+        private final long id;
+        private final String name;
+        private final String normalizedName;
+        
+        private Entry(long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.normalizedName = name != null ? TextAnalyzer.normalize(name) : "";
+        }
+        
+        private AuthorOption toOption() {
+            return new AuthorOption(id, name);
+        }
+        
+        /** Keys for the words after the first; the first word is matched through the name itself. */
+        private List<Word> laterWords() {
+            List<Word> words = new ArrayList<>();
+            for (int i = 1; i < normalizedName.length(); i++) {
+                if (normalizedName.charAt(i - 1) == ' ' && normalizedName.charAt(i) != ' ') {
+                    words.add(new Word(normalizedName.substring(i), this));
+                }
+            }
+            return words;
+        }
+    }
+    
+    private static final class Word {
+        private final String suffix;
+        private final Entry entry;
+        
+        private Word(String suffix, Entry entry) {
+            this.suffix = suffix;
+            this.entry = entry;
+        }
+    }
+    
+    private static final class Snapshot {
+        private final Entry[] byName;
+        private final Entry[] byId;
+        private final Word[] words;
+        
+        private Snapshot(Entry[] byName, Entry[] byId, Word[] words) {
+            this.byName = byName;
+            this.byId = byId;
+            this.words = words;
+        }
+        
+        private static Snapshot of(List<AuthorOption> options) {
+            Entry[] entries = options.stream()
+                    .map(option -> new Entry(option.getId(), option.getName()))
+                    .toArray(Entry[]::new);
+            Entry[] byName = entries.clone();
+            Arrays.sort(byName, NAME_ORDER);
+            Arrays.sort(entries, ID_ORDER);
+            Word[] words = Arrays.stream(entries)
+                    .flatMap(entry -> entry.laterWords().stream())
+                    .sorted(WORD_ORDER)
+                    .toArray(Word[]::new);
+            return new Snapshot(byName, entries, words);
+        }
+        
+        private Entry byId(long id) {
+            int index = Arrays.binarySearch(byId, new Entry(id, null), ID_ORDER);
+            return index >= 0 ? byId[index] : null;
+        }
+        
+        /**
+         * Entries, in name order, whose name or a later word of it starts with {@code prefix}.
+         */
+        private List<Entry> matching(String prefix) {
+            String end = prefix + Character.MAX_VALUE;
+            int from = lowerBound(byName, entry -> entry.normalizedName, prefix);
+            int to = lowerBound(byName, entry -> entry.normalizedName, end);
+            int wordFrom = lowerBound(words, word -> word.suffix, prefix);
+            int wordTo = lowerBound(words, word -> word.suffix, end);
+            
+            List<Entry> found = new ArrayList<>(Arrays.asList(byName).subList(from, to));
+            if (wordFrom == wordTo) {
+                return found;
+            }
+            for (int i = wordFrom; i < wordTo; i++) {
+                Entry entry = words[i].entry;
+                if (!entry.normalizedName.startsWith(prefix)) {
+                    found.add(entry);
+                }
+            }
+            found.sort(NAME_ORDER);
+            // An author with several matching words was found once per word
+            List<Entry> distinct = new ArrayList<>(found.size());
+            for (Entry entry : found) {
+                if (distinct.isEmpty() || distinct.get(distinct.size() - 1) != entry) {
+                    distinct.add(entry);
+                }
+            }
+            return distinct;
+        }
+        
+        /**
+         * A copy with the author's entry replaced, or removed when the author was deleted.
+         */
+        private Snapshot apply(AuthorChangedEvent event) {
+            Author author = event.getAuthor();
+            Entry[] names = byName;
+            Entry[] ids = byId;
+            Word[] keys = words;
+            
+            Entry previous = byId(author.getId());
+            if (previous != null) {
+                names = remove(names, previous, NAME_ORDER);
+                ids = remove(ids, previous, ID_ORDER);
+                for (Word word : previous.laterWords()) {
+                    keys = remove(keys, word, WORD_ORDER);
+                }
+            }
+            if (event.getType() != EntityChangeType.DELETED) {
+                Entry entry = new Entry(author.getId(), author.getName());
+                names = insert(names, entry, NAME_ORDER);
+                ids = insert(ids, entry, ID_ORDER);
+                for (Word word : entry.laterWords()) {
+                    keys = insert(keys, word, WORD_ORDER);
+                }
+            }
+            return new Snapshot(names, ids, keys);
+        }
+    }
+}
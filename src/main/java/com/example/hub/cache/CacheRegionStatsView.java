@@ -0,0 +1,60 @@
+package com.example.hub.cache;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+/**
+ * Counters of one Hibernate second-level cache region; the element counts are {@code -1}
+ * when the provider does not report them.
+ */
+public class CacheRegionStatsView {
+    
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long elementsInMemory;
+    private final long elementsOffHeap;
+    private final double hitRate;
+    
+    public CacheRegionStatsView(String name, CacheRegionStatistics stats) {
+        this.name = name;
+        this.hits = stats.getHitCount();
+        this.misses = stats.getMissCount();
+        this.puts = stats.getPutCount();
+        this.elementsInMemory = extended(stats.getElementCountInMemory());
+        this.elementsOffHeap = extended(stats.getElementCountOnDisk());
+        this.hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getPuts() {
+        return puts;
+    }
+    
+    public long getElementsInMemory() {
+        return elementsInMemory;
+    }
+    
+    public long getElementsOffHeap() {
+        return elementsOffHeap;
+    }
+    
+    public double getHitRate() {
+        return hitRate;
+    }
+    
+    private static long extended(long count) {
+        return count == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : count;
+    }
+}
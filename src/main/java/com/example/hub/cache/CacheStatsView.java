@@ -0,0 +1,47 @@
+package com.example.hub.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class CacheStatsView {
+    
+    private final String name;
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final double hitRate;
+    
+    public CacheStatsView(EntityCache<?> cache) {
+        CacheStats stats = cache.stats();
+        this.name = cache.getName();
+        this.size = cache.size();
+        this.hits = stats.hitCount();
+        this.misses = stats.missCount();
+        this.evictions = stats.evictionCount();
+        this.hitRate = stats.hitRate();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public double getHitRate() {
+        return hitRate;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hub.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of values keyed by entity id (Caffeine, W-TinyLFU eviction). One
+ * cached instance is handed to every caller, so values must be immutable, e.g. DTOs, never
+ * entities.
+ * <p>
+ * Loads run inside Caffeine's per-key atomic compute, so an invalidation that arrives during a
+ * load waits for it and then removes the result. Each load also records the key's
+ * invalidation generation (striped) before reading and discards its value if the generation
+ * moved. A value read before an invalidation is therefore never left in the cache. Lookups
+ * made from a read-write transaction bypass the cache because they may see uncommitted state.
+ * <p>
+ * Read-only loads may be served by a replica that has not yet applied the write behind an
+ * invalidation. Loads that start within {@code replicaLagMillis} of their key's (striped)
+ * last invalidation are therefore returned but not cached.
+ */
+public class EntityCache<V> {
+    
+    private static final int GENERATION_STRIPES = 1024;
+    
+    private final String name;
+    private final Cache<Long, V> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(GENERATION_STRIPES);
+    private final long replicaLagMillis;
+    
+    public EntityCache(String name, long maximumSize) {
+        this(name, maximumSize, 0);
+    }
+    
+    public EntityCache(String name, long maximumSize, long replicaLagMillis) {
+        this.name = name;
+        this.replicaLagMillis = replicaLagMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * @param id     entity id
+     * @param loader reads the value from the database; {@code null} when there is none
+     */
+    public V get(Long id, Supplier<V> loader) {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        
+        Object[] uncached = new Object[1];
+        V value = cache.get(id, key -> {
+            int stripe = stripe(key);
+            long generation = generations.get(stripe);
+            boolean withinReplicaLag = System.currentTimeMillis() - invalidatedAt.get(stripe) < replicaLagMillis;
+            V loaded = loader.get();
+            if (withinReplicaLag || generations.get(stripe) != generation) {
+                uncached[0] = loaded;
+                return null;
+            }
+            return loaded;
+        });
+        
+        @SuppressWarnings("unchecked")
+        V result = value != null ? value : (V) uncached[0];
+        return result;
+    }
+    
+    public void invalidate(Long id) {
+        invalidatedAt.set(stripe(id), System.currentTimeMillis());
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+    
+    public void invalidateAll() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            invalidatedAt.set(i, now);
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+    
+    public void invalidateIf(Predicate<V> predicate) {
+        cache.asMap().forEach((id, value) -> {
+            if (predicate.test(value)) {
+                invalidate(id);
+            }
+        });
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    public CacheStats stats() {
+        return cache.stats();
+    }
+    
+    private static int stripe(Long id) {
+        return (Long.hashCode(id) & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+}
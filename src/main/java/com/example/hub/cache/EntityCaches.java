@@ -0,0 +1,68 @@
+package com.example.hub.cache;
+
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.dto.BookDetail;
+import com.example.hub.event.AuthorBookCountChangedEvent;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.BookChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * The read-through caches in front of the hot single-resource lookups. They hold immutable
+ * {@link BookDetail} and {@link AuthorDetail} views, never entities, so a cached value can
+ * be shared by every thread and has no lazy state left to load. Entries are dropped once
+ * the transaction that changed them commits: a book write drops that book, an author write
+ * drops the author and every book detail showing its name, and adjusting an author's book
+ * count drops that author. With read replicas, ids changed within
+ * {@code hub.entity-cache.replica-lag-ms} are read but not cached again.
+ */
+@Component
+public class EntityCaches {
+    
+    private final EntityCache<BookDetail> bookDetails;
+    private final EntityCache<AuthorDetail> authorDetails;
+    
+    public EntityCaches(@Value("${hub.entity-cache.books.max-size:10000}") long maxBooks,
+                        @Value("${hub.entity-cache.authors.max-size:10000}") long maxAuthors,
+                        @Value("${hub.entity-cache.replica-lag-ms:0}") long replicaLagMillis) {
+        this.bookDetails = new EntityCache<>("bookDetails", maxBooks, replicaLagMillis);
+        this.authorDetails = new EntityCache<>("authorDetails", maxAuthors, replicaLagMillis);
+    }
+    
+    public EntityCache<BookDetail> bookDetails() {
+        return bookDetails;
+    }
+    
+    public EntityCache<AuthorDetail> authorDetails() {
+        return authorDetails;
+    }
+    
+    public List<EntityCache<?>> all() {
+        return List.of(bookDetails, authorDetails);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookDetails.invalidate(event.getBookId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        Long authorId = event.getAuthor().getId();
+        authorDetails.invalidate(authorId);
+        bookDetails.invalidateIf(book -> authorId.equals(book.getAuthorId()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorBookCountChanged(AuthorBookCountChangedEvent event) {
+        if (event.isAllAuthors()) {
+            authorDetails.invalidateAll();
+        } else {
+            authorDetails.invalidate(event.getAuthorId());
+        }
+    }
+}
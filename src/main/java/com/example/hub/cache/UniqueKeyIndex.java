@@ -0,0 +1,236 @@
+package com.example.hub.cache;
+
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.UniqueKeyView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bloom filters of every ISBN and author email, so existence checks for values that were
+ * never stored skip the database. A negative answer from the filter is definite; a positive
+ * one is confirmed with a query.
+ * <p>
+ * The filters are built at startup and fed by the services and the bulk loader as they
+ * write, before the write commits, so a rolled-back value only costs a false positive.
+ * Values written by other application instances are not seen; disable with
+ * {@code hub.unique-keys.enabled=false} when several instances share a database. Uniqueness
+ * itself is always enforced by the database constraints.
+ */
+@Component
+public class UniqueKeyIndex {
+    
+    public enum Key {
+        ISBN, EMAIL
+    }
+    
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyIndex.class);
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private AuthorRepository authorRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${hub.unique-keys.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${hub.unique-keys.expected-insertions:1000000}")
+    private long expectedInsertions;
+    
+    @Value("${hub.unique-keys.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+    
+    @Value("${hub.unique-keys.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+    
+    private final Map<Key, KeyFilter> filters = new EnumMap<>(Key.class);
+    
+    @PostConstruct
+    void registerMetrics() {
+        for (Key key : Key.values()) {
+            KeyFilter filter = new KeyFilter(key, meterRegistry);
+            filters.put(key, filter);
+            Gauge.builder("hub.unique_keys.false_positive_rate", filter, KeyFilter::observedFalsePositiveRate)
+                    .description("Share of absent values the filter could not rule out")
+                    .tag("key", key.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+            Gauge.builder("hub.unique_keys.expected_fpp", filter, KeyFilter::expectedFalsePositiveProbability)
+                    .description("False-positive probability implied by the filter's current fill")
+                    .tag("key", key.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+    
+    public boolean isReady(Key key) {
+        return filters.get(key).bloom != null;
+    }
+    
+    /**
+     * Records a value about to be written. Call before the write commits.
+     */
+    public void add(Key key, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        KeyFilter filter = filters.get(key);
+        synchronized (filter) {
+            if (filter.bloom != null) {
+                filter.bloom.put(value);
+            }
+            if (filter.pendingDuringRebuild != null) {
+                filter.pendingDuringRebuild.add(value);
+            }
+        }
+    }
+    
+    /**
+     * Whether {@code value} is stored, asking {@code database} only when the filter cannot rule it out.
+     */
+    public boolean exists(Key key, String value, Predicate<String> database) {
+        KeyFilter filter = filters.get(key);
+        BloomFilter bloom = filter.bloom;
+        if (bloom == null || value == null) {
+            return database.test(value);
+        }
+        if (!bloom.mightContain(value)) {
+            filter.absent.increment();
+            return false;
+        }
+        boolean exists = database.test(value);
+        (exists ? filter.present : filter.falsePositives).increment();
+        return exists;
+    }
+    
+    /**
+     * The stored subset of {@code values}. Only the values the filter cannot rule out are
+     * passed to {@code database}, which is not called at all when none remain.
+     */
+    public Set<String> findExisting(Key key, Collection<String> values,
+                                    Function<Collection<String>, Collection<String>> database) {
+        KeyFilter filter = filters.get(key);
+        BloomFilter bloom = filter.bloom;
+        List<String> candidates = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (bloom == null || bloom.mightContain(value)) {
+                candidates.add(value);
+            }
+        }
+        Set<String> existing = candidates.isEmpty() ? new HashSet<>() : new HashSet<>(database.apply(candidates));
+        if (bloom != null) {
+            filter.absent.increment(values.size() - candidates.size());
+            filter.present.increment(existing.size());
+            filter.falsePositives.increment(candidates.size() - existing.size());
+        }
+        return existing;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuild(Key.ISBN, bookRepository.count(), bookRepository::findIsbnsAfter);
+        rebuild(Key.EMAIL, authorRepository.count(), authorRepository::findEmailsAfter);
+    }
+    
+    private void rebuild(Key key, long rows, KeyBatchReader reader) {
+        long started = System.nanoTime();
+        KeyFilter filter = filters.get(key);
+        synchronized (filter) {
+            filter.pendingDuringRebuild = new ArrayList<>();
+        }
+        
+        // Room to grow to twice the current table before the false-positive rate degrades
+        BloomFilter fresh = new BloomFilter(Math.max(expectedInsertions, rows * 2), falsePositiveProbability);
+        long loaded = 0;
+        try {
+            Long lastId = 0L;
+            List<UniqueKeyView> batch;
+            do {
+                batch = reader.read(lastId, PageRequest.of(0, rebuildBatchSize));
+                for (UniqueKeyView row : batch) {
+                    fresh.put(row.getUniqueKey());
+                    lastId = row.getId();
+                }
+                loaded += batch.size();
+            } while (batch.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            log.error("Building the {} prefilter failed; existence checks will keep using the database", key, e);
+            synchronized (filter) {
+                filter.pendingDuringRebuild = null;
+            }
+            return;
+        }
+        
+        synchronized (filter) {
+            filter.pendingDuringRebuild.forEach(fresh::put);
+            filter.pendingDuringRebuild = null;
+            filter.bloom = fresh;
+        }
+        log.info("{} prefilter built with {} values in {} ms", key, loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    @FunctionalInterface
+    private interface KeyBatchReader {
+        List<UniqueKeyView> read(Long afterId, Pageable pageable);
+    }
+    
+    private static final class KeyFilter {
+        private volatile BloomFilter bloom;
+        private List<String> pendingDuringRebuild;
+        private final Counter absent;
+        private final Counter present;
+        private final Counter falsePositives;
+        
+        private KeyFilter(Key key, MeterRegistry meterRegistry) {
+            String tag = key.name().toLowerCase(Locale.ROOT);
+            this.absent = lookups(meterRegistry, tag, "absent");
+            this.present = lookups(meterRegistry, tag, "present");
+            this.falsePositives = lookups(meterRegistry, tag, "false_positive");
+        }
+        
+        private static Counter lookups(MeterRegistry meterRegistry, String key, String outcome) {
+            return Counter.builder("hub.unique_keys.lookups")
+                    .description("Existence checks by whether the filter ruled the value out")
+                    .tag("key", key)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+        
+        private double observedFalsePositiveRate() {
+            double negatives = absent.count() + falsePositives.count();
+            return negatives == 0 ? 0 : falsePositives.count() / negatives;
+        }
+        
+        private double expectedFalsePositiveProbability() {
+            BloomFilter current = bloom;
+            return current == null ? Double.NaN : current.expectedFalsePositiveProbability();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hub.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only service calls of one page concurrently on a bounded pool, so the
+ * page waits for its slowest query rather than the sum of all of them.
+ * <p>
+ * Submitted calls must go through service beans: each then runs in its own read-only
+ * transaction on its own pooled connection, because transactions are bound to the calling
+ * thread. When the pool and its queue are full, a call runs on the request thread instead.
+ * Each call gets {@code hub.parallel-reads.timeout-ms}; a call that fails or overruns is
+ * replaced by its fallback, see {@link PendingRead#get()}.
+ * <p>
+ * Cancelling a call only interrupts its thread, which a running JDBC statement ignores. Calls
+ * therefore run inside a read-only transaction whose timeout (in whole seconds, rounded up) is
+ * applied to every query they create, so the database aborts a query that overruns instead of
+ * holding the connection until it finishes.
+ */
+@Component
+public class ParallelReads {
+    
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate readTransaction;
+    
+    public ParallelReads(@Value("${hub.parallel-reads.pool-size:8}") int poolSize,
+                         @Value("${hub.parallel-reads.queue-capacity:100}") int queueCapacity,
+                         @Value("${hub.parallel-reads.timeout-ms:2000}") long timeoutMillis,
+                         PlatformTransactionManager transactionManager) {
+        this.timeoutMillis = timeoutMillis;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "parallel-read-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Starts {@code read} in the background.
+     *
+     * @param name     identifies the call in logs
+     * @param fallback value the page shows instead if the call fails or times out
+     */
+    public <T> PendingRead<T> submit(String name, Supplier<T> read, T fallback) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> readTransaction.execute(status -> read.get()),
+                executor);
+        return new PendingRead<>(name, future, fallback, deadline);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hub.concurrent;
+
+import com.example.hub.http.PageCacheFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A read started by {@link ParallelReads}.
+ */
+public class PendingRead<T> {
+    
+    private static final Logger log = LoggerFactory.getLogger(PendingRead.class);
+    
+    private final String name;
+    private final CompletableFuture<T> future;
+    private final T fallback;
+    private final long deadlineNanos;
+    private boolean degraded;
+    
+    PendingRead(String name, CompletableFuture<T> future, T fallback, long deadlineNanos) {
+        this.name = name;
+        this.future = future;
+        this.fallback = fallback;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * The call's result, or its fallback if it failed or did not finish by its deadline. A page
+     * built from a fallback is kept out of the rendered page cache.
+     */
+    public T get() {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Frees the page, not the connection: a running query is stopped by the transaction timeout
+            future.cancel(true);
+            log.warn("Parallel read '{}' timed out; showing its fallback", name);
+        } catch (ExecutionException e) {
+            log.warn("Parallel read '{}' failed; showing its fallback", name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        degraded = true;
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PageCacheFilter.SKIP_CACHE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        return fallback;
+    }
+    
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hub.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves each entity's id sequence past the ids already in its table. Tables that were filled
+ * while ids came from identity columns would otherwise hand out ids that are already taken.
+ * <p>
+ * Relies on the {@code pooled-lo} optimizer: a sequence value {@code v} reserves the ids
+ * {@code v .. v + allocationSize - 1}. Checking consumes one value, so each startup skips
+ * at most one allocation block.
+ */
+@Component
+public class IdSequenceAligner {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void alignSequences() {
+        Session session = entityManager.unwrap(Session.class);
+        SessionFactoryImplementor sessionFactory = session.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator) {
+                align(session, dialect, persister, generator.getDatabaseStructure().getPhysicalName().render());
+            }
+        });
+    }
+    
+    private void align(Session session, Dialect dialect, EntityPersister persister, String sequence) {
+        Long maxId = session.createQuery("SELECT MAX(e.id) FROM " + persister.getEntityName() + " e", Long.class)
+                .getSingleResult();
+        if (maxId == null) {
+            return;
+        }
+        long next = ((Number) session.createNativeQuery(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class).getSingleResult()).longValue();
+        if (next <= maxId) {
+            session.createNativeMutationQuery("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1))
+                    .executeUpdate();
+            log.info("Advanced sequence {} past existing id {}", sequence, maxId);
+        }
+    }
+}
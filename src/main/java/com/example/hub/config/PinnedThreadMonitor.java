@@ -0,0 +1,83 @@
+package com.example.hub.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically by blocking on JDBC
+ * I/O inside a {@code synchronized} block, using the JDK's {@code jdk.VirtualThreadPinned}
+ * flight recorder event.
+ * <p>
+ * Each distinct pinning call site is logged once at WARN with its stack; repeats only
+ * increment {@link #getPinnedCount()}. For full stacks on every occurrence, also run with
+ * {@code -Djdk.tracePinnedThreads=full}.
+ */
+public class PinnedThreadMonitor implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_FRAMES = 12;
+    
+    private final long thresholdMillis;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+    
+    public PinnedThreadMonitor(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+    
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+    
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", thresholdMillis);
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+    
+    private void report(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames() : List.of();
+        String stack = frames.stream()
+                .limit(REPORTED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + '.' + frame.getMethod().getName()
+                        + ':' + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (reportedSites.add(stack)) {
+            log.warn("Virtual thread pinned to its carrier for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+        } else {
+            log.debug("Virtual thread pinned to its carrier for {} ms", event.getDuration().toMillis());
+        }
+    }
+}
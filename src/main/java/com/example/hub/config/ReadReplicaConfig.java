@@ -0,0 +1,101 @@
+package com.example.hub.config;
+
+import com.example.hub.datasource.ReadYourWritesInterceptor;
+import com.example.hub.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool from {@code spring.datasource.*}
+ * and one pool per URL in {@code hub.read-replicas.urls}, behind a
+ * {@link ReplicaRoutingDataSource}. Only active when replica URLs are configured.
+ * <p>
+ * Replica pools share the primary's {@code spring.datasource.hikari.*} settings and, unless
+ * set, its credentials. Each pool reports its own {@code hikaricp.*} metrics under its pool
+ * name, since Actuator cannot unwrap the router to bind them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hub.read-replicas.urls")
+public class ReadReplicaConfig {
+    
+    @Autowired
+    private DataSourceProperties properties;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${hub.read-replicas.urls}")
+    private String[] replicaUrls;
+    
+    @Value("${hub.read-replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+    
+    @Value("${hub.read-replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+    
+    @Value("${hub.read-replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int replicaPoolSize;
+    
+    @Value("${hub.read-replicas.selection:ROUND_ROBIN}")
+    private ReplicaRoutingDataSource.Selection selection;
+    
+    private ReplicaRoutingDataSource router;
+    
+    @Bean
+    public DataSource dataSource(ReadYourWritesInterceptor readYourWrites, MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool("primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), meterRegistry);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                HikariDataSource replica = pool("replica-" + (replicas.size() + 1), url.trim(), replicaUsername,
+                        replicaPassword, meterRegistry);
+                replica.setMaximumPoolSize(replicaPoolSize);
+                replicas.add(replica);
+            }
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("hub.read-replicas.urls is set but names no replica");
+        }
+        
+        router = new ReplicaRoutingDataSource(primary, replicas, selection, readYourWrites, meterRegistry);
+        return new LazyConnectionDataSourceProxy(router);
+    }
+    
+    @PreDestroy
+    public void closePools() {
+        if (router != null) {
+            router.close();
+        }
+    }
+    
+    private HikariDataSource pool(String name, String url, String username, String password,
+                                  MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
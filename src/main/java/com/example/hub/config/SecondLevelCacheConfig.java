@@ -0,0 +1,100 @@
+package com.example.hub.config;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.Serializable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The Hibernate second-level cache: a JCache manager backed by Ehcache, holding the entity,
+ * collection and query result regions of authors and books.
+ * <p>
+ * Every region is created here, and Hibernate fails at startup on a region it would otherwise
+ * create with provider defaults. Each region keeps up to {@code hub.l2-cache.entity-heap-entries}
+ * (or {@code query-heap-entries}) entries on heap, optionally backed by an off-heap tier of
+ * {@code hub.l2-cache.offheap-mb} megabytes, and expires entries after
+ * {@code hub.l2-cache.ttl-seconds}, which bounds how long a read served by a lagging replica
+ * can be repeated. The update timestamps region, which tells Hibernate that a cached query
+ * result is out of date, neither expires nor spills off heap.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    private static final int UPDATE_TIMESTAMPS_ENTRIES = 1000;
+    
+    @Value("${hub.l2-cache.entity-heap-entries:10000}")
+    private long entityHeapEntries;
+    
+    @Value("${hub.l2-cache.query-heap-entries:1000}")
+    private long queryHeapEntries;
+    
+    @Value("${hub.l2-cache.offheap-mb:0}")
+    private long offHeapMegabytes;
+    
+    @Value("${hub.l2-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // A manager of its own, so application contexts sharing a class loader never share regions
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:hub:hibernate:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        
+        for (String region : List.of(Author.CACHE_REGION, Author.BOOKS_CACHE_REGION, Book.CACHE_REGION)) {
+            cacheManager.createCache(region, region(entityHeapEntries, true));
+        }
+        for (String region : List.of(AuthorRepository.QUERY_CACHE_REGION, BookRepository.QUERY_CACHE_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            cacheManager.createCache(region, region(queryHeapEntries, true));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(UPDATE_TIMESTAMPS_ENTRIES, false));
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    /**
+     * Hibernate's cache keys and entries are all serializable, which is what the off-heap
+     * tier needs to store them.
+     */
+    private javax.cache.configuration.Configuration<Serializable, Serializable> region(long heapEntries,
+                                                                                      boolean evictable) {
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(heapEntries);
+        if (evictable && offHeapMegabytes > 0) {
+            pools = pools.offheap(offHeapMegabytes, MemoryUnit.MB);
+        }
+        CacheConfigurationBuilder<Serializable, Serializable> region = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Serializable.class, Serializable.class, pools);
+        if (evictable) {
+            region = region.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(region);
+    }
+}
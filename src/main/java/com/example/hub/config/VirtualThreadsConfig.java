@@ -0,0 +1,77 @@
+package com.example.hub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode ({@code hub.virtual-threads.enabled=true}) that runs every request, and the
+ * service calls it makes, on its own virtual thread instead of Tomcat's platform-thread pool.
+ * <p>
+ * Requests are then no longer capped by a thread count, so the connection pool becomes the
+ * bulkhead. Its size bounds concurrent database work, and its connection timeout bounds how
+ * long a request may queue before it is rejected with a 503. The virtual-thread API is looked
+ * up reflectively so the default Java 17 build still compiles this class; the mode itself
+ * needs a Java 21 runtime ({@code -Pvirtual-threads}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "hub.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+    
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+    
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(@Value("${hub.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        return new PinnedThreadMonitor(thresholdMillis);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logBulkhead(ApplicationReadyEvent event) {
+        DataSource dataSource = event.getApplicationContext().getBean(DataSource.class);
+        if (dataSource instanceof HikariDataSource) {
+            HikariDataSource hikari = (HikariDataSource) dataSource;
+            log.info("Serving requests on virtual threads; database work is bounded by {} pooled connections, "
+                    + "waiting at most {} ms for one", hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        } else {
+            log.info("Serving requests on virtual threads");
+        }
+    }
+    
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("hub.virtual-threads.enabled requires Java 21 or later, but this is "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Creating a virtual thread executor failed", e);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.hub.config;
 
+import com.example.hub.datasource.ReadYourWritesInterceptor;
+import com.example.hub.metrics.SqlStatementsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -11,6 +15,12 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    @Autowired
+    private SqlStatementsInterceptor sqlStatementsInterceptor;
+    
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+    
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         PageableHandlerMethodArgumentResolver pageableResolver = new PageableHandlerMethodArgumentResolver();
@@ -18,4 +28,10 @@ public class WebConfig implements WebMvcConfigurer {
         pageableResolver.setMaxPageSize(100);
         resolvers.add(pageableResolver);
     }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesInterceptor);
+        registry.addInterceptor(sqlStatementsInterceptor);
+    }
 }
@@ -1,8 +1,10 @@
 package com.example.hub.controller;
 
 import com.example.hub.entity.Author;
+import com.example.hub.pagination.CursorPage;
 import com.example.hub.service.AuthorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +25,9 @@ public class AuthorController {
     @Autowired
     private AuthorService authorService;
     
+    @Value("${spring.data.web.pageable.max-page-size:100}")
+    private int maxPageSize;
+    
     @GetMapping
     public String listAuthors(
             @RequestParam(defaultValue = "0") int page,
@@ -30,8 +35,21 @@ public class AuthorController {
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
             Model model) {
         
+        // Keyset mode: "?cursor=" starts from the first page, search still uses offsets
+        if (cursor != null && (search == null || search.trim().isEmpty())) {
+            CursorPage<Author> authorPage = authorService.getAuthorsAfter(cursor, sortBy, sortDir,
+                    Math.max(1, Math.min(size, maxPageSize)));
+            
+            model.addAttribute("authors", authorPage.getContent());
+            model.addAttribute("nextCursor", authorPage.getNextCursor());
+            model.addAttribute("sortBy", authorPage.getSortBy());
+            model.addAttribute("sortDir", authorPage.getSortDir());
+            return "authors/list";
+        }
+        
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
                    Sort.by(sortBy).ascending();
@@ -40,10 +58,10 @@ public class AuthorController {
         Page<Author> authorPage;
         
         if (search != null && !search.trim().isEmpty()) {
-            authorPage = authorService.searchAuthorsByName(search, pageable);
+            authorPage = authorService.searchAuthorsByNameWithCachedTotal(search, pageable);
             model.addAttribute("search", search);
         } else {
-            authorPage = authorService.getAllAuthors(pageable);
+            authorPage = authorService.getAllAuthorsWithCachedTotal(pageable);
         }
         
         model.addAttribute("authors", authorPage);
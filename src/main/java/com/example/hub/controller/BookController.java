@@ -1,10 +1,14 @@
 package com.example.hub.controller;
 
+import com.example.hub.dto.BookSummary;
 import com.example.hub.entity.Author;
 import com.example.hub.entity.Book;
+import com.example.hub.pagination.CursorPage;
+import com.example.hub.search.BookFacetFilter;
 import com.example.hub.service.AuthorService;
 import com.example.hub.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +32,9 @@ public class BookController {
     @Autowired
     private AuthorService authorService;
     
+    @Value("${spring.data.web.pageable.max-page-size:100}")
+    private int maxPageSize;
+    
     @GetMapping
     public String listBooks(
             @RequestParam(defaultValue = "0") int page,
@@ -35,26 +42,53 @@ public class BookController {
             @RequestParam(defaultValue = "title") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) List<Book.Genre> genre,
+            @RequestParam(required = false) List<Integer> price,
+            @RequestParam(required = false) List<Integer> decade,
+            @RequestParam(required = false) String cursor,
             Model model) {
         
+        String title = search != null && !search.trim().isEmpty() ? search : null;
+        BookFacetFilter filter = new BookFacetFilter(genre, price, decade);
+        
+        // Keyset mode: "?cursor=" starts from the first page; search and combined filters still use offsets
+        if (cursor != null && title == null && filter.getPriceBands().isEmpty() && filter.getDecades().isEmpty()
+                && filter.getGenres().size() <= 1) {
+            Book.Genre selectedGenre = filter.getGenres().isEmpty() ? null : filter.getGenres().iterator().next();
+            CursorPage<Book> bookPage = bookService.getBooksAfter(cursor, sortBy, sortDir,
+                    Math.max(1, Math.min(size, maxPageSize)), selectedGenre);
+            
+            model.addAttribute("books", bookPage.getContent());
+            model.addAttribute("selectedGenre", selectedGenre == null ? null : selectedGenre.name());
+            model.addAttribute("selectedGenres", filter.getGenres());
+            model.addAttribute("genres", Book.Genre.values());
+            model.addAttribute("nextCursor", bookPage.getNextCursor());
+            model.addAttribute("sortBy", bookPage.getSortBy());
+            model.addAttribute("sortDir", bookPage.getSortDir());
+            return "books/list";
+        }
+        
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
                    Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Book> bookPage;
+        Page<Book> bookPage = filter.isEmpty() && title == null
+                ? bookService.getAllBooksWithCachedTotal(pageable)
+                : bookService.getBooksByFacets(filter, title, pageable);
         
-        if (genre != null && !genre.trim().isEmpty()) {
-            bookPage = bookService.getBooksByGenre(Book.Genre.valueOf(genre), pageable);
-            model.addAttribute("selectedGenre", genre);
-        } else if (search != null && !search.trim().isEmpty()) {
-            bookPage = bookService.searchBooksByTitle(search, pageable);
+        if (filter.getGenres().size() == 1) {
+            model.addAttribute("selectedGenre", filter.getGenres().iterator().next().name());
+        }
+        if (title != null) {
             model.addAttribute("search", search);
         } else {
-            bookPage = bookService.getAllBooks(pageable);
+            model.addAttribute("facets", bookService.getBookFacets(filter));
         }
         
+        model.addAttribute("selectedGenres", filter.getGenres());
+        model.addAttribute("selectedPriceBands", filter.getPriceBands());
+        model.addAttribute("selectedDecades", filter.getDecades());
         model.addAttribute("books", bookPage);
         model.addAttribute("genres", Book.Genre.values());
         model.addAttribute("currentPage", page);
@@ -76,9 +110,9 @@ public class BookController {
     
     @GetMapping("/new")
     public String createBookForm(Model model) {
-        model.addAttribute("book", new Book());
-        model.addAttribute("authors", authorService.getAllAuthors());
-        model.addAttribute("genres", Book.Genre.values());
+        Book book = new Book();
+        model.addAttribute("book", book);
+        addFormOptions(model, book);
         return "books/form";
     }
     
@@ -88,8 +122,7 @@ public class BookController {
                            Model model,
                            RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
-            model.addAttribute("authors", authorService.getAllAuthors());
-            model.addAttribute("genres", Book.Genre.values());
+            addFormOptions(model, book);
             return "books/form";
         }
         
@@ -100,8 +133,7 @@ public class BookController {
             return "redirect:/books/" + savedBook.getId();
         } catch (IllegalArgumentException e) {
             result.rejectValue("isbn", "error.book", e.getMessage());
-            model.addAttribute("authors", authorService.getAllAuthors());
-            model.addAttribute("genres", Book.Genre.values());
+            addFormOptions(model, book);
             return "books/form";
         }
     }
@@ -110,8 +142,7 @@ public class BookController {
     public String editBookForm(@PathVariable Long id, Model model) {
         Book book = bookService.getBookById(id);
         model.addAttribute("book", book);
-        model.addAttribute("authors", authorService.getAllAuthors());
-        model.addAttribute("genres", Book.Genre.values());
+        addFormOptions(model, book);
         return "books/form";
     }
     
@@ -123,8 +154,7 @@ public class BookController {
                            RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             book.setId(id);
-            model.addAttribute("authors", authorService.getAllAuthors());
-            model.addAttribute("genres", Book.Genre.values());
+            addFormOptions(model, book);
             return "books/form";
         }
         
@@ -136,8 +166,7 @@ public class BookController {
         } catch (IllegalArgumentException e) {
             result.rejectValue("isbn", "error.book", e.getMessage());
             book.setId(id);
-            model.addAttribute("authors", authorService.getAllAuthors());
-            model.addAttribute("genres", Book.Genre.values());
+            addFormOptions(model, book);
             return "books/form";
         }
     }
@@ -170,7 +199,13 @@ public class BookController {
     
     @GetMapping("/latest")
     @ResponseBody
-    public List<Book> getLatestBooks() {
+    public List<BookSummary> getLatestBooks() {
         return bookService.getLatestBooks();
     }
+    
+    private void addFormOptions(Model model, Book book) {
+        Long selectedAuthorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+        model.addAttribute("authors", authorService.getAuthorPickerOptions(selectedAuthorId));
+        model.addAttribute("genres", Book.Genre.values());
+    }
 }
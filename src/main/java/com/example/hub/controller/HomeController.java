@@ -1,5 +1,9 @@
 package com.example.hub.controller;
 
+import com.example.hub.concurrent.ParallelReads;
+import com.example.hub.concurrent.PendingRead;
+import com.example.hub.dto.AuthorListItem;
+import com.example.hub.dto.BookSummary;
 import com.example.hub.service.AuthorService;
 import com.example.hub.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +11,9 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.Collections;
+import java.util.List;
+
 @Controller
 public class HomeController {
     
@@ -16,18 +23,35 @@ public class HomeController {
     @Autowired
     private BookService bookService;
     
+    @Autowired
+    private ParallelReads parallelReads;
+    
     @GetMapping("/")
     public String home(Model model) {
-        model.addAttribute("totalAuthors", authorService.getTotalAuthorsCount());
-        model.addAttribute("latestBooks", bookService.getLatestBooks());
-        model.addAttribute("prolificAuthors", authorService.getAuthorsWithMoreThanBooks(0));
+        PendingRead<Long> totalAuthors = parallelReads.submit("totalAuthors", authorService::getTotalAuthorsCount, null);
+        PendingRead<Long> totalBooks = parallelReads.submit("totalBooks", bookService::getTotalBooksCount, null);
+        PendingRead<List<BookSummary>> latestBooks = parallelReads.submit("latestBooks",
+                bookService::getLatestBooks, Collections.emptyList());
+        PendingRead<List<AuthorListItem>> prolificAuthors = parallelReads.submit("prolificAuthors",
+                () -> authorService.getAuthorItemsWithMoreThanBooks(0), Collections.emptyList());
+        
+        model.addAttribute("totalAuthors", totalAuthors.get());
+        model.addAttribute("totalBooks", totalBooks.get());
+        model.addAttribute("latestBooks", latestBooks.get());
+        model.addAttribute("prolificAuthors", prolificAuthors.get());
         return "home";
     }
     
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
-        model.addAttribute("totalAuthors", authorService.getTotalAuthorsCount());
-        model.addAttribute("latestBooks", bookService.getLatestBooks());
+        PendingRead<Long> totalAuthors = parallelReads.submit("totalAuthors", authorService::getTotalAuthorsCount, null);
+        PendingRead<Long> totalBooks = parallelReads.submit("totalBooks", bookService::getTotalBooksCount, null);
+        PendingRead<List<BookSummary>> latestBooks = parallelReads.submit("latestBooks",
+                bookService::getLatestBooks, Collections.emptyList());
+        
+        model.addAttribute("totalAuthors", totalAuthors.get());
+        model.addAttribute("totalBooks", totalBooks.get());
+        model.addAttribute("latestBooks", latestBooks.get());
         return "dashboard";
     }
 }
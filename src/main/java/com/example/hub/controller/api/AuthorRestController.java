@@ -1,16 +1,33 @@
 package com.example.hub.controller.api;
 
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.dto.AuthorListItem;
+import com.example.hub.dto.AuthorOption;
+import com.example.hub.dto.AuthorSuggestion;
 import com.example.hub.entity.Author;
+import com.example.hub.export.CatalogExporter;
+import com.example.hub.export.ExportFormat;
+import com.example.hub.http.CollectionVersions;
+import com.example.hub.http.ResourceVersion;
+import com.example.hub.metrics.SqlBudget;
+import com.example.hub.pagination.CursorPage;
 import com.example.hub.service.AuthorService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/authors")
@@ -20,41 +37,128 @@ public class AuthorRestController {
     @Autowired
     private AuthorService authorService;
     
+    @Autowired
+    private CatalogExporter catalogExporter;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Value("${spring.data.web.pageable.max-page-size:100}")
+    private int maxPageSize;
+    
+    @Value("${hub.suggest.max-limit:50}")
+    private int maxSuggestLimit;
+    
     @GetMapping
-    public ResponseEntity<Page<Author>> getAllAuthors(Pageable pageable) {
-        Page<Author> authors = authorService.getAllAuthors(pageable);
-        return ResponseEntity.ok(authors);
+    public ResponseEntity<Slice<AuthorListItem>> getAllAuthors(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.AUTHORS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        Slice<AuthorListItem> authors = count ? authorService.getAllAuthorItems(pageable)
+                : authorService.getAllAuthorItemsSlice(pageable);
+        return version.ok(authors);
+    }
+    
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<AuthorListItem>> getAuthorsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.AUTHORS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        CursorPage<AuthorListItem> authors = authorService.getAuthorItemsAfter(cursor, sortBy, sortDir,
+                Math.max(1, Math.min(size, maxPageSize)));
+        return version.ok(authors);
+    }
+    
+    /**
+     * Streams every author as NDJSON (default) or CSV, optionally gzip-compressed.
+     */
+    @GetMapping("/export")
+    public void exportAuthors(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"authors." + exportFormat.getExtension() + (gzip ? ".gz" : "") + "\"");
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream()) {
+            catalogExporter.exportAuthors(exportFormat, out);
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Author> getAuthorById(@PathVariable Long id) {
-        Author author = authorService.getAuthorById(id);
-        return ResponseEntity.ok(author);
+    public ResponseEntity<AuthorDetail> getAuthorById(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = authorService.getAuthorVersion(id);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        AuthorDetail author = authorService.getAuthorDetail(id);
+        return version.ok(author);
     }
     
+    // Version check, author (usually cached) and its book list; never one query per book
+    @SqlBudget(3)
     @GetMapping("/{id}/with-books")
-    public ResponseEntity<Author> getAuthorWithBooks(@PathVariable Long id) {
-        Author author = authorService.getAuthorWithBooks(id);
-        return ResponseEntity.ok(author);
+    public ResponseEntity<AuthorDetail> getAuthorWithBooks(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = authorService.getAuthorWithBooksVersion(id);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        AuthorDetail author = authorService.getAuthorDetailWithBooks(id);
+        return version.ok(author);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Author>> searchAuthors(@RequestParam String keyword) {
-        List<Author> authors = authorService.searchAuthors(keyword);
+    public ResponseEntity<List<AuthorListItem>> searchAuthors(@RequestParam String keyword) {
+        List<AuthorListItem> authors = authorService.searchAuthorItems(keyword);
         return ResponseEntity.ok(authors);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AuthorSuggestion>> suggestAuthors(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AuthorSuggestion> suggestions = authorService.suggestAuthors(prefix, Math.min(limit, maxSuggestLimit));
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    /**
+     * Paginated author picker options in name order, matching names with a word that starts
+     * with {@code q}.
+     */
+    @GetMapping("/options")
+    public ResponseEntity<Slice<AuthorOption>> getAuthorOptions(
+            @RequestParam(required = false) String q,
+            Pageable pageable) {
+        Slice<AuthorOption> options = authorService.getAuthorOptions(q, pageable);
+        return ResponseEntity.ok(options);
+    }
+    
     @PostMapping
-    public ResponseEntity<Author> createAuthor(@Valid @RequestBody Author author) {
+    public ResponseEntity<AuthorDetail> createAuthor(@Valid @RequestBody Author author) {
         Author createdAuthor = authorService.createAuthor(author);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdAuthor);
+        return ResponseEntity.status(HttpStatus.CREATED).body(AuthorDetail.from(createdAuthor));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Author> updateAuthor(@PathVariable Long id, 
-                                             @Valid @RequestBody Author author) {
+    public ResponseEntity<AuthorDetail> updateAuthor(@PathVariable Long id,
+                                                   @Valid @RequestBody Author author) {
         Author updatedAuthor = authorService.updateAuthor(id, author);
-        return ResponseEntity.ok(updatedAuthor);
+        return ResponseEntity.ok(AuthorDetail.from(updatedAuthor));
     }
     
     @DeleteMapping("/{id}")
@@ -70,9 +174,15 @@ public class AuthorRestController {
     }
     
     @GetMapping("/prolific")
-    public ResponseEntity<List<Author>> getProlificAuthors(
-            @RequestParam(defaultValue = "1") int minBooks) {
-        List<Author> authors = authorService.getAuthorsWithMoreThanBooks(minBooks);
-        return ResponseEntity.ok(authors);
+    public ResponseEntity<List<AuthorListItem>> getProlificAuthors(
+            @RequestParam(defaultValue = "1") int minBooks,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.AUTHORS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        List<AuthorListItem> authors = authorService.getAuthorItemsWithMoreThanBooks(minBooks);
+        return version.ok(authors);
     }
 }
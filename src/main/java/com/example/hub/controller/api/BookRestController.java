@@ -1,88 +1,267 @@
 package com.example.hub.controller.api;
 
+import com.example.hub.dto.BookDetail;
+import com.example.hub.dto.BookFacets;
+import com.example.hub.dto.BookListItem;
+import com.example.hub.dto.BookSummary;
+import com.example.hub.dto.PriceBucket;
 import com.example.hub.entity.Book;
+import com.example.hub.export.CatalogExporter;
+import com.example.hub.export.ExportFormat;
+import com.example.hub.http.CollectionVersions;
+import com.example.hub.http.ResourceVersion;
+import com.example.hub.metrics.SqlBudget;
+import com.example.hub.pagination.CursorPage;
+import com.example.hub.search.BookFacetFilter;
 import com.example.hub.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/books")
 @CrossOrigin(origins = "*")
 public class BookRestController {
     
+    private static final int MAX_HISTOGRAM_BUCKETS = 100;
+    
     @Autowired
     private BookService bookService;
     
+    @Autowired
+    private CatalogExporter catalogExporter;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Value("${spring.data.web.pageable.max-page-size:100}")
+    private int maxPageSize;
+    
     @GetMapping
-    public ResponseEntity<Page<Book>> getAllBooks(Pageable pageable) {
-        Page<Book> books = bookService.getAllBooks(pageable);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<Slice<BookListItem>> getAllBooks(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        Slice<BookListItem> books = count ? bookService.getAllBookItems(pageable)
+                : bookService.getAllBookItemsSlice(pageable);
+        return version.ok(books);
+    }
+    
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<BookListItem>> getBooksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "title") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Book.Genre genre,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        CursorPage<BookListItem> books = bookService.getBookItemsAfter(cursor, sortBy, sortDir,
+                Math.max(1, Math.min(size, maxPageSize)), genre);
+        return version.ok(books);
     }
     
+    /**
+     * Streams every book as NDJSON (default) or CSV, optionally gzip-compressed.
+     */
+    @GetMapping("/export")
+    public void exportBooks(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"books." + exportFormat.getExtension() + (gzip ? ".gz" : "") + "\"");
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream()) {
+            catalogExporter.exportBooks(exportFormat, out);
+        }
+    }
+    
+    @SqlBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        Book book = bookService.getBookById(id);
-        return ResponseEntity.ok(book);
+    public ResponseEntity<BookDetail> getBookById(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = bookService.getBookVersion(id);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        BookDetail book = bookService.getBookDetail(id);
+        return version.ok(book);
     }
     
     @GetMapping("/{id}/with-author")
-    public ResponseEntity<Book> getBookWithAuthor(@PathVariable Long id) {
-        Book book = bookService.getBookWithAuthor(id);
-        return ResponseEntity.ok(book);
+    public ResponseEntity<BookDetail> getBookWithAuthor(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = bookService.getBookVersion(id);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        BookDetail book = bookService.getBookDetail(id);
+        return version.ok(book);
     }
     
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<List<Book>> getBooksByAuthor(@PathVariable Long authorId) {
-        List<Book> books = bookService.getBooksByAuthorId(authorId);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<BookListItem>> getBooksByAuthor(@PathVariable Long authorId, WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        List<BookListItem> books = bookService.getBookItemsByAuthorId(authorId);
+        return version.ok(books);
     }
     
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<Page<Book>> getBooksByGenre(
-            @PathVariable Book.Genre genre, Pageable pageable) {
-        Page<Book> books = bookService.getBooksByGenre(genre, pageable);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<Slice<BookListItem>> getBooksByGenre(
+            @PathVariable Book.Genre genre, Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        Slice<BookListItem> books = count ? bookService.getBookItemsByGenre(genre, pageable)
+                : bookService.getBookItemsByGenreSlice(genre, pageable);
+        return version.ok(books);
+    }
+    
+    /**
+     * Books in any of the given genres, price bands and decades, optionally narrowed to
+     * titles containing {@code title}.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<Page<BookListItem>> filterBooks(
+            @RequestParam(required = false) List<Book.Genre> genre,
+            @RequestParam(required = false) List<Integer> price,
+            @RequestParam(required = false) List<Integer> decade,
+            @RequestParam(required = false) String title,
+            Pageable pageable,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        String search = title != null && !title.trim().isEmpty() ? title : null;
+        Page<BookListItem> books = bookService.getBookItemsByFacets(new BookFacetFilter(genre, price, decade),
+                search, pageable);
+        return version.ok(books);
+    }
+    
+    /**
+     * Match count for the filter and, per genre, price band and decade, the count with that
+     * value selected instead; 503 while the facet index is being built.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<BookFacets> getBookFacets(
+            @RequestParam(required = false) List<Book.Genre> genre,
+            @RequestParam(required = false) List<Integer> price,
+            @RequestParam(required = false) List<Integer> decade,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        BookFacets facets = bookService.getBookFacets(new BookFacetFilter(genre, price, decade));
+        if (facets == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return version.ok(facets);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Book>> searchBooks(@RequestParam String keyword) {
-        List<Book> books = bookService.searchBooks(keyword);
+    public ResponseEntity<List<BookListItem>> searchBooks(@RequestParam String keyword) {
+        List<BookListItem> books = bookService.searchBookItems(keyword);
         return ResponseEntity.ok(books);
     }
     
+    /**
+     * Pages through books in the price range; sort with {@code sort=price,desc} for the most
+     * expensive first.
+     */
     @GetMapping("/price-range")
-    public ResponseEntity<List<Book>> getBooksByPriceRange(
-            @RequestParam BigDecimal minPrice, 
-            @RequestParam BigDecimal maxPrice) {
-        List<Book> books = bookService.getBooksByPriceRange(minPrice, maxPrice);
+    public ResponseEntity<Page<BookListItem>> getBooksByPriceRange(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            Pageable pageable) {
+        Page<BookListItem> books = bookService.getBookItemsByPriceRange(minPrice, maxPrice, pageable);
         return ResponseEntity.ok(books);
     }
     
+    @GetMapping("/price-range/count")
+    public ResponseEntity<Long> countBooksByPriceRange(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice) {
+        return ResponseEntity.ok(bookService.countBooksByPriceRange(minPrice, maxPrice));
+    }
+    
+    @GetMapping("/price-histogram")
+    public ResponseEntity<List<PriceBucket>> getPriceHistogram(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "10") int buckets) {
+        List<PriceBucket> histogram = bookService.getPriceHistogram(minPrice, maxPrice,
+                Math.max(1, Math.min(buckets, MAX_HISTOGRAM_BUCKETS)));
+        return ResponseEntity.ok(histogram);
+    }
+    
     @GetMapping("/latest")
-    public ResponseEntity<List<Book>> getLatestBooks() {
-        List<Book> books = bookService.getLatestBooks();
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<BookSummary>> getLatestBooks(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Book.Genre genre,
+            WebRequest request) {
+        ResourceVersion version = collectionVersions.current(CollectionVersions.BOOKS);
+        if (version.checkNotModified(request)) {
+            // Already answered with 304 Not Modified
+            return null;
+        }
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<BookSummary> books = genre != null
+                ? bookService.getLatestBooksByGenre(genre, size)
+                : bookService.getLatestBooks(size);
+        return version.ok(books);
     }
     
     @PostMapping
-    public ResponseEntity<Book> createBook(@Valid @RequestBody Book book) {
+    public ResponseEntity<BookDetail> createBook(@Valid @RequestBody Book book) {
         Book createdBook = bookService.createBook(book);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        return ResponseEntity.status(HttpStatus.CREATED).body(BookDetail.from(createdBook));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable Long id, 
-                                         @Valid @RequestBody Book book) {
+    public ResponseEntity<BookDetail> updateBook(@PathVariable Long id,
+                                               @Valid @RequestBody Book book) {
         Book updatedBook = bookService.updateBook(id, book);
-        return ResponseEntity.ok(updatedBook);
+        return ResponseEntity.ok(BookDetail.from(updatedBook));
     }
     
     @DeleteMapping("/{id}")
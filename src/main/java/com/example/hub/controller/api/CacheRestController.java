@@ -0,0 +1,54 @@
+package com.example.hub.controller.api;
+
+import com.example.hub.cache.CacheRegionStatsView;
+import com.example.hub.cache.CacheStatsView;
+import com.example.hub.cache.EntityCaches;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheRestController {
+    
+    @Autowired
+    private EntityCaches entityCaches;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsView>> getCacheStats() {
+        List<CacheStatsView> stats = entityCaches.all().stream()
+                .map(CacheStatsView::new)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(stats);
+    }
+    
+    /**
+     * Hibernate second-level cache regions; the same counters are exported to Actuator as
+     * {@code hibernate.second.level.cache.*}.
+     */
+    @GetMapping("/regions")
+    public ResponseEntity<List<CacheRegionStatsView>> getCacheRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsView> stats = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                stats.add(new CacheRegionStatsView(region, regionStatistics));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
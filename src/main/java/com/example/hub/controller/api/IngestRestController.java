@@ -0,0 +1,34 @@
+package com.example.hub.controller.api;
+
+import com.example.hub.ingest.BulkIngestService;
+import com.example.hub.ingest.IngestReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk loading from newline-delimited JSON, one record per line. The request body is read
+ * as a stream and never buffered whole.
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+public class IngestRestController {
+    
+    @Autowired
+    private BulkIngestService bulkIngestService;
+    
+    @PostMapping(value = "/books", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<IngestReport> ingestBooks(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkIngestService.ingestBooks(body));
+    }
+    
+    @PostMapping(value = "/authors", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<IngestReport> ingestAuthors(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkIngestService.ingestAuthors(body));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hub.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Keeps a client's reads on the primary for {@code hub.read-replicas.sticky-window-ms} after
+ * it wrote, so it does not read around its own write while the replicas catch up.
+ * <p>
+ * Within a thread the window starts when a read-write transaction commits. For HTTP clients
+ * it is carried across requests in a cookie holding the end of the window; clients that drop
+ * cookies only get the guarantee within the request that wrote. A window of 0 turns it off.
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    
+    static final String COOKIE = "hub-primary-until";
+    
+    private final ThreadLocal<Long> primaryUntil = new ThreadLocal<>();
+    
+    @Value("${hub.read-replicas.sticky-window-ms:3000}")
+    private long windowMillis;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        primaryUntil.remove();
+        Cookie[] cookies = request.getCookies();
+        if (windowMillis > 0 && cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        primaryUntil.set(Long.parseLong(cookie.getValue()));
+                    } catch (NumberFormatException e) {
+                        // Not ours to trust; the request reads from a replica as usual
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        // Worker threads serve other clients next
+        primaryUntil.remove();
+    }
+    
+    /**
+     * Whether reads on this thread should still go to the primary.
+     */
+    public boolean isPinned() {
+        Long until = primaryUntil.get();
+        return until != null && System.currentTimeMillis() < until;
+    }
+    
+    /**
+     * Starts the window on this thread and, inside a request, for the calling client.
+     */
+    public void recordWrite() {
+        if (windowMillis <= 0) {
+            return;
+        }
+        long until = System.currentTimeMillis() + windowMillis;
+        primaryUntil.set(until);
+        
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
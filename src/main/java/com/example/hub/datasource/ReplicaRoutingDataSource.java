@@ -0,0 +1,140 @@
+package com.example.hub.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out primary connections for read-write work and replica connections for read-only
+ * transactions, including the {@code SUPPORTS} read-only reads that run without one.
+ * <p>
+ * The route is decided when a connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager opens its connection before the read-only flag is visible. A replica that cannot
+ * hand out a connection is skipped in favour of the primary rather than failing the read.
+ * Routes are counted in {@code hub.datasource.routes} by pool and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    public enum Selection {
+        ROUND_ROBIN,
+        /** Fewest active plus waiting connections, round-robin among equals */
+        LEAST_LOADED
+    }
+    
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Selection selection;
+    private final ReadYourWritesInterceptor readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private final Counter writes;
+    private final Counter sticky;
+    private final Counter fallbacks;
+    private final Counter[] reads;
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Selection selection,
+                                    ReadYourWritesInterceptor readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+        this.writes = routes(meterRegistry, primary, "write");
+        this.sticky = routes(meterRegistry, primary, "sticky");
+        this.fallbacks = routes(meterRegistry, primary, "fallback");
+        this.reads = new Counter[this.replicas.size()];
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = routes(meterRegistry, this.replicas.get(i), "read");
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            recordWriteOnCommit();
+            return primary.getConnection();
+        }
+        if (readYourWrites.isPinned()) {
+            sticky.increment();
+            return primary.getConnection();
+        }
+        
+        int replica = selectReplica();
+        try {
+            Connection connection = replicas.get(replica).getConnection();
+            reads[replica].increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica pool {} gave no connection, reading from the primary: {}",
+                    replicas.get(replica).getPoolName(), e.getMessage());
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the pools' own credentials");
+    }
+    
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+    
+    private int selectReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == Selection.ROUND_ROBIN) {
+            return start;
+        }
+        int best = start;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            HikariPoolMXBean pool = replicas.get(candidate).getHikariPoolMXBean();
+            int load = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+    
+    private void recordWriteOnCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite();
+                }
+            });
+        }
+    }
+    
+    private static Counter routes(MeterRegistry meterRegistry, HikariDataSource pool, String reason) {
+        return Counter.builder("hub.datasource.routes")
+                .description("Connections handed out by the read/write router")
+                .tag("pool", pool.getPoolName())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Author;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Full view of a single author. {@code books} is only present when the caller asked for
+ * the author's books.
+ */
+public class AuthorDetail {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String bio;
+    private final int bookCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final List<BookListItem> books;
+    
+    public AuthorDetail(Long id, String name, String email, String bio, int bookCount,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, List<BookListItem> books) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.bio = bio;
+        this.bookCount = bookCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.books = books;
+    }
+    
+    public AuthorDetail(Long id, String name, String email, String bio, int bookCount,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, email, bio, bookCount, createdAt, updatedAt, null);
+    }
+    
+    public static AuthorDetail from(Author author) {
+        return new AuthorDetail(author.getId(), author.getName(), author.getEmail(), author.getBio(),
+                author.getBookCount(), author.getCreatedAt(), author.getUpdatedAt());
+    }
+    
+    public AuthorDetail withBooks(List<BookListItem> books) {
+        return new AuthorDetail(id, name, email, bio, bookCount, createdAt, updatedAt, books);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getBio() {
+        return bio;
+    }
+    
+    public int getBookCount() {
+        return bookCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<BookListItem> getBooks() {
+        return books;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Author;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of an author listing. The book count comes from the maintained counter column, so no
+ * books are loaded or counted.
+ */
+public class AuthorListItem {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final int bookCount;
+    private final LocalDateTime createdAt;
+    
+    public AuthorListItem(Long id, String name, String email, int bookCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.bookCount = bookCount;
+        this.createdAt = createdAt;
+    }
+    
+    public static AuthorListItem from(Author author) {
+        return new AuthorListItem(author.getId(), author.getName(), author.getEmail(),
+                author.getBookCount(), author.getCreatedAt());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public int getBookCount() {
+        return bookCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
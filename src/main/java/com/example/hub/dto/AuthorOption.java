@@ -0,0 +1,23 @@
+package com.example.hub.dto;
+
+/**
+ * Id and display name of an author, as offered by the book form's author picker.
+ */
+public class AuthorOption {
+    
+    private final Long id;
+    private final String name;
+    
+    public AuthorOption(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+}
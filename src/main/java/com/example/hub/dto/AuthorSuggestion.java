@@ -0,0 +1,26 @@
+package com.example.hub.dto;
+
+public class AuthorSuggestion {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    
+    public AuthorSuggestion(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Full view of a single book with its author's id and name in place of the association.
+ */
+public class BookDetail {
+    
+    private final Long id;
+    private final String title;
+    private final String isbn;
+    private final String description;
+    private final LocalDate publicationDate;
+    private final BigDecimal price;
+    private final Integer pageCount;
+    private final Book.Genre genre;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long authorId;
+    private final String authorName;
+    
+    public BookDetail(Long id, String title, String isbn, String description, LocalDate publicationDate,
+                      BigDecimal price, Integer pageCount, Book.Genre genre, LocalDateTime createdAt,
+                      LocalDateTime updatedAt, Long authorId, String authorName) {
+        this.id = id;
+        this.title = title;
+        this.isbn = isbn;
+        this.description = description;
+        this.publicationDate = publicationDate;
+        this.price = price;
+        this.pageCount = pageCount;
+        this.genre = genre;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.authorId = authorId;
+        this.authorName = authorName;
+    }
+    
+    public static BookDetail from(Book book) {
+        return new BookDetail(book.getId(), book.getTitle(), book.getIsbn(), book.getDescription(),
+                book.getPublicationDate(), book.getPrice(), book.getPageCount(), book.getGenre(),
+                book.getCreatedAt(), book.getUpdatedAt(), book.getAuthor().getId(), book.getAuthor().getName());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getIsbn() {
+        return isbn;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public LocalDate getPublicationDate() {
+        return publicationDate;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public Integer getPageCount() {
+        return pageCount;
+    }
+    
+    public Book.Genre getGenre() {
+        return genre;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public String getAuthorName() {
+        return authorName;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Book;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * How many books match a filter, and how many would match with each genre, price band or
+ * decade selected instead of the filter's own choice for that dimension.
+ */
+public class BookFacets {
+    
+    private final long total;
+    private final Map<Book.Genre, Long> genres;
+    private final List<PriceBucket> priceBands;
+    private final SortedMap<Integer, Long> decades;
+    
+    public BookFacets(long total, Map<Book.Genre, Long> genres, List<PriceBucket> priceBands,
+                      SortedMap<Integer, Long> decades) {
+        this.total = total;
+        this.genres = genres;
+        this.priceBands = priceBands;
+        this.decades = decades;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public Map<Book.Genre, Long> getGenres() {
+        return genres;
+    }
+    
+    /**
+     * One entry per price band, in band order; the first band has no {@code from} and the
+     * last no {@code to}.
+     */
+    public List<PriceBucket> getPriceBands() {
+        return priceBands;
+    }
+    
+    public SortedMap<Integer, Long> getDecades() {
+        return decades;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of a book listing: the columns list endpoints return, with the author's name joined
+ * in the same query. Descriptions are left to {@link BookDetail}.
+ */
+public class BookListItem {
+    
+    private final Long id;
+    private final String title;
+    private final String isbn;
+    private final Book.Genre genre;
+    private final BigDecimal price;
+    private final LocalDate publicationDate;
+    private final Long authorId;
+    private final String authorName;
+    
+    public BookListItem(Long id, String title, String isbn, Book.Genre genre, BigDecimal price,
+                        LocalDate publicationDate, Long authorId, String authorName) {
+        this.id = id;
+        this.title = title;
+        this.isbn = isbn;
+        this.genre = genre;
+        this.price = price;
+        this.publicationDate = publicationDate;
+        this.authorId = authorId;
+        this.authorName = authorName;
+    }
+    
+    /**
+     * Maps a book whose author is already initialized, e.g. one read with {@code JOIN FETCH}.
+     */
+    public static BookListItem from(Book book) {
+        return new BookListItem(book.getId(), book.getTitle(), book.getIsbn(), book.getGenre(), book.getPrice(),
+                book.getPublicationDate(), book.getAuthor().getId(), book.getAuthor().getName());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getIsbn() {
+        return isbn;
+    }
+    
+    public Book.Genre getGenre() {
+        return genre;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public LocalDate getPublicationDate() {
+        return publicationDate;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public String getAuthorName() {
+        return authorName;
+    }
+}
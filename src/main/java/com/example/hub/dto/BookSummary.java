@@ -0,0 +1,74 @@
+package com.example.hub.dto;
+
+import com.example.hub.entity.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable list-card view of a book with its author's name already resolved.
+ */
+public class BookSummary {
+    
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Book.Genre genre;
+    private final BigDecimal price;
+    private final Long authorId;
+    private final String authorName;
+    private final LocalDateTime createdAt;
+    
+    public BookSummary(Long id, String title, String description, Book.Genre genre, BigDecimal price,
+                       Long authorId, String authorName, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.genre = genre;
+        this.price = price;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.createdAt = createdAt;
+    }
+    
+    public static BookSummary from(Book book) {
+        return new BookSummary(book.getId(), book.getTitle(), book.getDescription(), book.getGenre(),
+                book.getPrice(), book.getAuthor().getId(), book.getAuthor().getName(), book.getCreatedAt());
+    }
+    
+    public BookSummary withAuthorName(String authorName) {
+        return new BookSummary(id, title, description, genre, price, authorId, authorName, createdAt);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public Book.Genre getGenre() {
+        return genre;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public String getAuthorName() {
+        return authorName;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hub.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One bar of a price histogram: the number of books priced from {@code from} to {@code to},
+ * both inclusive.
+ */
+public class PriceBucket {
+    
+    private final BigDecimal from;
+    private final BigDecimal to;
+    private final long count;
+    
+    public PriceBucket(BigDecimal from, BigDecimal to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+    
+    public BigDecimal getFrom() {
+        return from;
+    }
+    
+    public BigDecimal getTo() {
+        return to;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+}
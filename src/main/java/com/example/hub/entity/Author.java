@@ -4,16 +4,34 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", uniqueConstraints = {
+        @UniqueConstraint(name = Author.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_authors_name_id", columnList = "name, id"),
+        @Index(name = "idx_authors_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_authors_book_count_id", columnList = "book_count, id")
+})
+@EntityListeners(AuthorLifecycleListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Author.CACHE_REGION)
 public class Author {
     
+    public static final String EMAIL_CONSTRAINT = "uk_authors_email";
+    
+    public static final String CACHE_REGION = "authors";
+    public static final String BOOKS_CACHE_REGION = "authors.books";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_seq")
+    @SequenceGenerator(name = "authors_seq", sequenceName = "authors_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -22,7 +40,7 @@ public class Author {
     private String name;
     
     @Email(message = "Please provide a valid email address")
-    @Column(unique = true, length = 150)
+    @Column(length = 150)
     private String email;
     
     @Column(length = 500)
@@ -34,6 +52,13 @@ public class Author {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Maintained by AuthorRepository.adjustBookCount; never written from entity state
+    @ColumnDefault("0")
+    @Column(name = "book_count", nullable = false, updatable = false)
+    private int bookCount;
+    
+    // Cached as book ids; changing a book's author evicts it (hibernate.cache.auto_evict_collection_cache)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BOOKS_CACHE_REGION)
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Book> books = new ArrayList<>();
     
@@ -106,6 +131,10 @@ public class Author {
         this.updatedAt = updatedAt;
     }
     
+    public int getBookCount() {
+        return bookCount;
+    }
+    
     public List<Book> getBooks() {
         return books;
     }
@@ -0,0 +1,36 @@
+package com.example.hub.entity;
+
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns {@link Author} lifecycle callbacks into
+ * {@link AuthorChangedEvent}s. Instantiated by Hibernate through Spring's bean container.
+ */
+@Component
+public class AuthorLifecycleListener {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PostPersist
+    public void onPersist(Author author) {
+        eventPublisher.publishEvent(new AuthorChangedEvent(author, EntityChangeType.CREATED));
+    }
+    
+    @PostUpdate
+    public void onUpdate(Author author) {
+        eventPublisher.publishEvent(new AuthorChangedEvent(author, EntityChangeType.UPDATED));
+    }
+    
+    @PostRemove
+    public void onRemove(Author author) {
+        eventPublisher.publishEvent(new AuthorChangedEvent(author, EntityChangeType.DELETED));
+    }
+}
@@ -4,16 +4,35 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", uniqueConstraints = {
+        @UniqueConstraint(name = Book.ISBN_CONSTRAINT, columnNames = "isbn")
+}, indexes = {
+        @Index(name = "idx_books_title_id", columnList = "title, id"),
+        @Index(name = "idx_books_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_books_price_id", columnList = "price, id"),
+        @Index(name = "idx_books_author_id_updated_at", columnList = "author_id, updated_at")
+})
+@EntityListeners(BookLifecycleListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Book.CACHE_REGION)
 public class Book {
     
+    // Named so a violation can be told apart from other integrity errors
+    public static final String ISBN_CONSTRAINT = "uk_books_isbn";
+    
+    public static final String CACHE_REGION = "books";
+    
+    // Pooled sequence ids: one sequence call per 50 inserts, and inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -21,7 +40,7 @@ public class Book {
     @Column(nullable = false, length = 200)
     private String title;
     
-    @Column(unique = true, length = 20)
+    @Column(length = 20)
     private String isbn;
     
     @Column(length = 1000)
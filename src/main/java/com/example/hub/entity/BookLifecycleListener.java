@@ -0,0 +1,36 @@
+package com.example.hub.entity;
+
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns {@link Book} lifecycle callbacks into
+ * {@link BookChangedEvent}s. Instantiated by Hibernate through Spring's bean container.
+ */
+@Component
+public class BookLifecycleListener {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PostPersist
+    public void onPersist(Book book) {
+        eventPublisher.publishEvent(new BookChangedEvent(book, EntityChangeType.CREATED));
+    }
+    
+    @PostUpdate
+    public void onUpdate(Book book) {
+        eventPublisher.publishEvent(new BookChangedEvent(book, EntityChangeType.UPDATED));
+    }
+    
+    @PostRemove
+    public void onRemove(Book book) {
+        eventPublisher.publishEvent(new BookChangedEvent(book, EntityChangeType.DELETED));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hub.event;
+
+/**
+ * Published when an author's maintained book count changes. The counter is adjusted with a
+ * bulk update, which bypasses the entity listeners, so this is how cached copies of the
+ * author learn that they are stale. An event without an author id covers every author.
+ */
+public class AuthorBookCountChangedEvent {
+    
+    private final Long authorId;
+    private final int delta;
+    
+    public AuthorBookCountChangedEvent(Long authorId, int delta) {
+        this.authorId = authorId;
+        this.delta = delta;
+    }
+    
+    public static AuthorBookCountChangedEvent allAuthors() {
+        return new AuthorBookCountChangedEvent(null, 0);
+    }
+    
+    public boolean isAllAuthors() {
+        return authorId == null;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public int getDelta() {
+        return delta;
+    }
+    
+    @Override
+    public String toString() {
+        return "AuthorBookCountChangedEvent{" +
+                "authorId=" + authorId +
+                ", delta=" + delta +
+                '}';
+    }
+}
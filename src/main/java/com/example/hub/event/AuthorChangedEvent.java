@@ -0,0 +1,39 @@
+package com.example.hub.event;
+
+import com.example.hub.entity.Author;
+
+/**
+ * Published whenever an {@link Author} is inserted, updated or removed.
+ * Listeners that maintain in-memory read models should subscribe with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class AuthorChangedEvent {
+    
+    private final Author author;
+    private final EntityChangeType type;
+    
+    public AuthorChangedEvent(Author author, EntityChangeType type) {
+        this.author = author;
+        this.type = type;
+    }
+    
+    public Author getAuthor() {
+        return author;
+    }
+    
+    public Long getAuthorId() {
+        return author.getId();
+    }
+    
+    public EntityChangeType getType() {
+        return type;
+    }
+    
+    @Override
+    public String toString() {
+        return "AuthorChangedEvent{" +
+                "authorId=" + author.getId() +
+                ", type=" + type +
+                '}';
+    }
+}
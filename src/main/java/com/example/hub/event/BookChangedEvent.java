@@ -0,0 +1,39 @@
+package com.example.hub.event;
+
+import com.example.hub.entity.Book;
+
+/**
+ * Published whenever a {@link Book} is inserted, updated or removed.
+ * Listeners that maintain in-memory read models should subscribe with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class BookChangedEvent {
+    
+    private final Book book;
+    private final EntityChangeType type;
+    
+    public BookChangedEvent(Book book, EntityChangeType type) {
+        this.book = book;
+        this.type = type;
+    }
+    
+    public Book getBook() {
+        return book;
+    }
+    
+    public Long getBookId() {
+        return book.getId();
+    }
+    
+    public EntityChangeType getType() {
+        return type;
+    }
+    
+    @Override
+    public String toString() {
+        return "BookChangedEvent{" +
+                "bookId=" + book.getId() +
+                ", type=" + type +
+                '}';
+    }
+}
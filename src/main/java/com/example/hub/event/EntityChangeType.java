@@ -0,0 +1,5 @@
+package com.example.hub.event;
+
+public enum EntityChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,29 @@
+package com.example.hub.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Recognizes which named unique constraint a failed write violated, so the database can
+ * enforce uniqueness in the same round trip as the write instead of a check-then-save.
+ */
+public final class UniqueConstraints {
+    
+    private UniqueConstraints() {
+    }
+    
+    public static boolean isViolation(DataIntegrityViolationException e, String constraint) {
+        String name = constraint.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(name);
+            }
+        }
+        // Not every dialect extracts the name; the driver message still carries it
+        Throwable root = NestedExceptionUtils.getMostSpecificCause(e);
+        return root.getMessage() != null && root.getMessage().toLowerCase(Locale.ROOT).contains(name);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.hub.export;
+
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.dto.BookDetail;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog to an output stream as NDJSON or CSV.
+ * <p>
+ * Rows come from forward-only projection streams with a JDBC fetch size. They are DTOs, not
+ * entities, so nothing accumulates in the persistence context. Each row is written as soon
+ * as it is read, so heap use does not depend on the size of the table.
+ */
+@Component
+public class CatalogExporter {
+    
+    private static final List<ExportColumn<BookDetail>> BOOK_COLUMNS = List.of(
+            new ExportColumn<>("id", BookDetail::getId),
+            new ExportColumn<>("title", BookDetail::getTitle),
+            new ExportColumn<>("isbn", BookDetail::getIsbn),
+            new ExportColumn<>("description", BookDetail::getDescription),
+            new ExportColumn<>("publicationDate", BookDetail::getPublicationDate),
+            new ExportColumn<>("price", BookDetail::getPrice),
+            new ExportColumn<>("pageCount", BookDetail::getPageCount),
+            new ExportColumn<>("genre", BookDetail::getGenre),
+            new ExportColumn<>("createdAt", BookDetail::getCreatedAt),
+            new ExportColumn<>("updatedAt", BookDetail::getUpdatedAt),
+            new ExportColumn<>("authorId", BookDetail::getAuthorId),
+            new ExportColumn<>("authorName", BookDetail::getAuthorName));
+    
+    private static final List<ExportColumn<AuthorDetail>> AUTHOR_COLUMNS = List.of(
+            new ExportColumn<>("id", AuthorDetail::getId),
+            new ExportColumn<>("name", AuthorDetail::getName),
+            new ExportColumn<>("email", AuthorDetail::getEmail),
+            new ExportColumn<>("bio", AuthorDetail::getBio),
+            new ExportColumn<>("bookCount", AuthorDetail::getBookCount),
+            new ExportColumn<>("createdAt", AuthorDetail::getCreatedAt),
+            new ExportColumn<>("updatedAt", AuthorDetail::getUpdatedAt));
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private AuthorRepository authorRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ObjectWriter rowWriter;
+    
+    /**
+     * The shared mapper flushes the generator after every value, which would push each row
+     * through to the socket; rows are flushed once, when the export is done.
+     */
+    @PostConstruct
+    void createRowWriter() {
+        rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /**
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookDetail> rows = bookRepository.streamAllDetails()) {
+            return write(rows, BOOK_COLUMNS, format, out);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long exportAuthors(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AuthorDetail> rows = authorRepository.streamAllDetails()) {
+            return write(rows, AUTHOR_COLUMNS, format, out);
+        }
+    }
+    
+    private <T> long write(Stream<T> rows, List<ExportColumn<T>> columns, ExportFormat format,
+                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long written = format == ExportFormat.CSV ? writeCsv(rows, columns, writer) : writeNdjson(rows, writer);
+        writer.flush();
+        return written;
+    }
+    
+    private <T> long writeNdjson(Stream<T> rows, Writer writer) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); written++) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+    
+    private <T> long writeCsv(Stream<T> rows, List<ExportColumn<T>> columns, Writer writer) throws IOException {
+        writer.write(columns.stream().map(ExportColumn::getHeader).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+        long written = 0;
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); written++) {
+            T row = iterator.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(columns.get(i).valueOf(row), writer);
+            }
+            writer.write("\r\n");
+        }
+        return written;
+    }
+    
+    /**
+     * RFC 4180 quoting: fields containing a comma, quote or line break are quoted, with quotes doubled.
+     */
+    private static void writeCsvField(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hub.export;
+
+import java.util.function.Function;
+
+/**
+ * A named CSV column and how to read it from a row.
+ */
+class ExportColumn<T> {
+    
+    private final String header;
+    private final Function<T, Object> accessor;
+    
+    ExportColumn(String header, Function<T, Object> accessor) {
+        this.header = header;
+        this.accessor = accessor;
+    }
+    
+    String getHeader() {
+        return header;
+    }
+    
+    Object valueOf(T row) {
+        return accessor.apply(row);
+    }
+}
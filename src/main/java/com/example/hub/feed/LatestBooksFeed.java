@@ -0,0 +1,223 @@
+package com.example.hub.feed;
+
+import com.example.hub.dto.BookSummary;
+import com.example.hub.entity.Book;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory "latest books" feeds, overall and per genre, so the home page, dashboard and
+ * latest-books endpoints never sort the books table.
+ * <p>
+ * Each feed holds up to {@code hub.latest-books.capacity} summaries. The feeds are seeded
+ * at startup and kept current from committed book and author changes. A feed goes back to
+ * the database only when deletions have left it short while older books still exist. Like
+ * seeding, that refill queries outside the feed's lock; changes applied while it runs are
+ * replayed onto its result before it is published, so none is lost.
+ */
+@Component
+public class LatestBooksFeed {
+    
+    private static final Logger log = LoggerFactory.getLogger(LatestBooksFeed.class);
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    private final int capacity;
+    private final RecentBooks all;
+    private final Map<Book.Genre, RecentBooks> byGenre = new EnumMap<>(Book.Genre.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean ready;
+    private List<Object> pendingDuringSeed;
+    private List<Object> pendingDuringRefill;
+    
+    public LatestBooksFeed(@Value("${hub.latest-books.capacity:100}") int capacity) {
+        this.capacity = capacity;
+        this.all = new RecentBooks(capacity);
+        for (Book.Genre genre : Book.Genre.values()) {
+            byGenre.put(genre, new RecentBooks(capacity));
+        }
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public List<BookSummary> latest(int limit) {
+        return all.newest(Math.min(limit, capacity));
+    }
+    
+    public List<BookSummary> latest(Book.Genre genre, int limit) {
+        return byGenre.get(genre).newest(Math.min(limit, capacity));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        applyOrQueue(event);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        applyOrQueue(event);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        lock.lock();
+        try {
+            pendingDuringSeed = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            List<BookSummary> newest = bookRepository.findLatestSummaries(PageRequest.of(0, capacity));
+            Map<Book.Genre, List<BookSummary>> newestByGenre = new EnumMap<>(Book.Genre.class);
+            for (Book.Genre genre : Book.Genre.values()) {
+                newestByGenre.put(genre, bookRepository.findLatestSummariesByGenre(genre, PageRequest.of(0, capacity)));
+            }
+            
+            lock.lock();
+            try {
+                all.reset(newest);
+                newestByGenre.forEach((genre, summaries) -> byGenre.get(genre).reset(summaries));
+                pendingDuringSeed.forEach(this::apply);
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Latest books feed seeded with {} books", newest.size());
+        } catch (RuntimeException e) {
+            log.error("Seeding the latest books feed failed; latest books will keep using the database", e);
+        } finally {
+            lock.lock();
+            try {
+                pendingDuringSeed = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private void applyOrQueue(Object event) {
+        boolean refill;
+        lock.lock();
+        try {
+            apply(event);
+            if (pendingDuringSeed != null) {
+                pendingDuringSeed.add(event);
+            }
+            if (pendingDuringRefill != null) {
+                pendingDuringRefill.add(event);
+            }
+            refill = ready && pendingDuringRefill == null && needsRefill();
+            if (refill) {
+                pendingDuringRefill = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (refill) {
+            refill();
+        }
+    }
+    
+    /**
+     * Reloads the feeds that deletions left short, until none is. Runs on one thread at a
+     * time, the one that found a feed short; only publishing the results takes the lock.
+     */
+    private void refill() {
+        try {
+            boolean again = true;
+            while (again) {
+                List<BookSummary> newest = null;
+                Map<Book.Genre, List<BookSummary>> newestByGenre = new EnumMap<>(Book.Genre.class);
+                if (all.needsRefill()) {
+                    newest = bookRepository.findLatestSummaries(PageRequest.of(0, capacity));
+                }
+                for (Map.Entry<Book.Genre, RecentBooks> feed : byGenre.entrySet()) {
+                    if (feed.getValue().needsRefill()) {
+                        newestByGenre.put(feed.getKey(),
+                                bookRepository.findLatestSummariesByGenre(feed.getKey(), PageRequest.of(0, capacity)));
+                    }
+                }
+                
+                lock.lock();
+                try {
+                    if (newest != null) {
+                        all.reset(newest);
+                    }
+                    newestByGenre.forEach((genre, summaries) -> byGenre.get(genre).reset(summaries));
+                    pendingDuringRefill.forEach(this::apply);
+                    pendingDuringRefill.clear();
+                    again = needsRefill();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refilling the latest books feed failed; it stays short until the next change", e);
+        } finally {
+            lock.lock();
+            try {
+                pendingDuringRefill = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private boolean needsRefill() {
+        return all.needsRefill() || byGenre.values().stream().anyMatch(RecentBooks::needsRefill);
+    }
+    
+    private void apply(Object event) {
+        if (event instanceof BookChangedEvent) {
+            applyBookChange((BookChangedEvent) event);
+        } else {
+            Long authorId = ((AuthorChangedEvent) event).getAuthor().getId();
+            String authorName = ((AuthorChangedEvent) event).getAuthor().getName();
+            all.replaceAll(authorId, summary -> summary.withAuthorName(authorName));
+            byGenre.values().forEach(feed -> feed.replaceAll(authorId, summary -> summary.withAuthorName(authorName)));
+        }
+    }
+    
+    private void applyBookChange(BookChangedEvent event) {
+        Long bookId = event.getBookId();
+        if (event.getType() == EntityChangeType.DELETED) {
+            all.remove(bookId);
+            byGenre.values().forEach(feed -> feed.remove(bookId));
+        } else {
+            BookSummary summary = BookSummary.from(event.getBook());
+            all.upsert(summary);
+            // An update may have moved the book to another genre
+            byGenre.forEach((genre, feed) -> {
+                if (genre == summary.getGenre()) {
+                    feed.upsert(summary);
+                } else {
+                    feed.remove(bookId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.hub.feed;
+
+import com.example.hub.dto.BookSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded newest-first list of book summaries. Readers take the current snapshot, an immutable
+ * list published through a volatile field, so they never see a write half done. Writers are
+ * serialized on the instance; each one copies the snapshot, changes the copy and publishes it.
+ */
+class RecentBooks {
+    
+    static final Comparator<BookSummary> NEWEST_FIRST = Comparator
+            .comparing(BookSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BookSummary::getId, Comparator.reverseOrder());
+    
+    private final int capacity;
+    private volatile List<BookSummary> entries = List.of();
+    
+    /** True when every matching book in the database is held here, i.e. nothing was trimmed. */
+    private boolean complete = true;
+    
+    RecentBooks(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    List<BookSummary> newest(int limit) {
+        List<BookSummary> snapshot = entries;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+    
+    synchronized void reset(List<BookSummary> newest) {
+        List<BookSummary> sorted = new ArrayList<>(newest);
+        sorted.sort(NEWEST_FIRST);
+        complete = sorted.size() < capacity;
+        publish(sorted);
+    }
+    
+    synchronized void upsert(BookSummary summary) {
+        List<BookSummary> copy = new ArrayList<>(entries);
+        boolean held = copy.removeIf(entry -> entry.getId().equals(summary.getId()));
+        if (!held && !complete && !copy.isEmpty() && NEWEST_FIRST.compare(summary, copy.get(copy.size() - 1)) > 0) {
+            // Older than everything held while older books were trimmed away: it does not belong here
+            return;
+        }
+        insert(copy, summary);
+        while (copy.size() > capacity) {
+            copy.remove(copy.size() - 1);
+            complete = false;
+        }
+        publish(copy);
+    }
+    
+    synchronized boolean remove(Long bookId) {
+        List<BookSummary> copy = new ArrayList<>(entries);
+        if (!copy.removeIf(entry -> entry.getId().equals(bookId))) {
+            return false;
+        }
+        publish(copy);
+        return true;
+    }
+    
+    synchronized void replaceAll(Long authorId, UnaryOperator<BookSummary> update) {
+        List<BookSummary> copy = new ArrayList<>(entries);
+        boolean changed = false;
+        for (int i = 0; i < copy.size(); i++) {
+            if (authorId.equals(copy.get(i).getAuthorId())) {
+                copy.set(i, update.apply(copy.get(i)));
+                changed = true;
+            }
+        }
+        if (changed) {
+            // The update may not keep the order, so restore it before publishing
+            copy.sort(NEWEST_FIRST);
+            publish(copy);
+        }
+    }
+    
+    /** A removal left fewer entries than the capacity while older books exist in the database. */
+    synchronized boolean needsRefill() {
+        return !complete && entries.size() < capacity;
+    }
+    
+    private void publish(List<BookSummary> newest) {
+        entries = List.copyOf(newest);
+    }
+    
+    private static void insert(List<BookSummary> sorted, BookSummary summary) {
+        int index = Collections.binarySearch(sorted, summary, NEWEST_FIRST);
+        sorted.add(index < 0 ? -index - 1 : index, summary);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.hub.generator;
+
+import com.example.hub.config.IdSequenceAligner;
+import com.example.hub.entity.Book;
+import com.example.hub.service.AuthorService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Fills the database with a synthetic catalog of production-like shape: books per author
+ * follow a Zipf distribution, genres a fixed popularity mix, and text lengths, prices, page
+ * counts and publication dates are skewed the way real catalogs are.
+ * <p>
+ * Rows are built and inserted in blocks on {@code hub.generator.threads} threads, each block
+ * as JDBC batches of {@code hub.generator.batch-size} in its own transaction. Every row
+ * draws from a random stream derived from the seed and its position, so the same seed
+ * always yields the same catalog however the blocks are scheduled.
+ * <p>
+ * The inserts bypass JPA, so entity listeners and change events do not fire, and the
+ * second-level cache is cleared afterwards. Run it before the application is ready, as
+ * {@code DataLoader} does, so the in-memory indexes and feeds are built from the generated rows.
+ */
+@Component
+public class CatalogGenerator {
+    
+    private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+    
+    private static final String INSERT_AUTHOR = "INSERT INTO authors (id, name, email, bio, book_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_BOOK = "INSERT INTO books (id, title, isbn, description, publication_date, price, "
+            + "page_count, genre, created_at, updated_at, author_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final int BATCHES_PER_BLOCK = 10;
+    
+    // A fixed clock keeps the timestamps reproducible; rows span the five years before it
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long HISTORY_SECONDS = 5L * 365 * 24 * 3600;
+    
+    private static final Book.Genre[] GENRES = Book.Genre.values();
+    private static final double[] GENRE_WEIGHTS = new double[GENRES.length];
+    
+    static {
+        GENRE_WEIGHTS[Book.Genre.FICTION.ordinal()] = 24;
+        GENRE_WEIGHTS[Book.Genre.NON_FICTION.ordinal()] = 10;
+        GENRE_WEIGHTS[Book.Genre.MYSTERY.ordinal()] = 12;
+        GENRE_WEIGHTS[Book.Genre.ROMANCE.ordinal()] = 13;
+        GENRE_WEIGHTS[Book.Genre.SCIENCE_FICTION.ordinal()] = 7;
+        GENRE_WEIGHTS[Book.Genre.FANTASY.ordinal()] = 9;
+        GENRE_WEIGHTS[Book.Genre.BIOGRAPHY.ordinal()] = 5;
+        GENRE_WEIGHTS[Book.Genre.HISTORY.ordinal()] = 6;
+        GENRE_WEIGHTS[Book.Genre.SELF_HELP.ordinal()] = 6;
+        GENRE_WEIGHTS[Book.Genre.TECHNOLOGY.ordinal()] = 5;
+        GENRE_WEIGHTS[Book.Genre.OTHER.ordinal()] = 3;
+        for (int i = 1; i < GENRE_WEIGHTS.length; i++) {
+            GENRE_WEIGHTS[i] += GENRE_WEIGHTS[i - 1];
+        }
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private AuthorService authorService;
+    
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Value("${hub.generator.threads:4}")
+    private int threads;
+    
+    @Value("${hub.generator.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${hub.generator.author-skew:0.8}")
+    private double authorSkew;
+    
+    @Value("${hub.generator.word-skew:1.0}")
+    private double wordSkew;
+    
+    /**
+     * Appends {@code authors} authors and {@code books} books after the rows already present.
+     */
+    public GenerationReport generate(int authors, long books, long seed) {
+        if (authors <= 0 && books > 0) {
+            throw new IllegalArgumentException("Books need at least one author");
+        }
+        long started = System.nanoTime();
+        long firstAuthorId = maxId("authors") + 1;
+        long firstBookId = maxId("books") + 1;
+        SyntheticText text = new SyntheticText(wordSkew);
+        
+        // Rank r is the r-th most prolific author; shuffling keeps them from all having the lowest ids
+        ZipfSampler authorRanks = new ZipfSampler(authors, authorSkew);
+        int[] authorByRank = new int[authors];
+        for (int i = 0; i < authors; i++) {
+            authorByRank[i] = i;
+        }
+        SplittableRandom shuffle = new SplittableRandom(seed);
+        for (int i = authors - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = authorByRank[i];
+            authorByRank[i] = authorByRank[j];
+            authorByRank[j] = swap;
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            insertBlocks(pool, INSERT_AUTHOR, authors, index -> {
+                SplittableRandom random = rowRandom(seed, 0, index);
+                long id = firstAuthorId + index;
+                Timestamp created = timestamp(index, authors, random);
+                return new Object[]{id, text.authorName(random), "author" + id + "@catalog.example",
+                        random.nextInt(2) == 0 ? null : text.paragraph(random, 25, 500), created, created};
+            });
+            insertBlocks(pool, INSERT_BOOK, books, index -> {
+                SplittableRandom random = rowRandom(seed, 1, index);
+                long id = firstBookId + index;
+                Timestamp created = timestamp(index, books, random);
+                return new Object[]{id, text.title(random, id), isbn(id),
+                        random.nextInt(10) == 0 ? null : text.paragraph(random, 40, 1000),
+                        publicationDate(random), price(random), pageCount(random), genre(random).name(), created, created,
+                        firstAuthorId + authorByRank[authorRanks.sample(random)]};
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        authorService.recountBooks();
+        idSequenceAligner.alignSequences();
+        // Cached query results would not know about rows inserted behind Hibernate's back
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        GenerationReport report = new GenerationReport(authors, books, (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {} authors and {} books in {} ms ({} books/s)", authors, books,
+                report.getElapsedMillis(), report.getBooksPerSecond());
+        return report;
+    }
+    
+    private void insertBlocks(ExecutorService pool, String sql, long rows, LongFunction<Object[]> row) {
+        long blockSize = (long) batchSize * BATCHES_PER_BLOCK;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Future<?>> blocks = new ArrayList<>();
+        for (long start = 0; start < rows; start += blockSize) {
+            long from = start;
+            long to = Math.min(rows, start + blockSize);
+            blocks.add(pool.submit(() -> transaction.executeWithoutResult(status -> {
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                for (long index = from; index < to; index++) {
+                    batch.add(row.apply(index));
+                    if (batch.size() == batchSize || index == to - 1) {
+                        jdbcTemplate.batchUpdate(sql, batch);
+                        batch.clear();
+                    }
+                }
+            })));
+        }
+        try {
+            for (Future<?> block : blocks) {
+                block.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog generation was interrupted", e);
+        } catch (ExecutionException e) {
+            blocks.forEach(block -> block.cancel(true));
+            throw new IllegalStateException("Catalog generation failed", e.getCause());
+        }
+    }
+    
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+    
+    /**
+     * A random stream per row, so a row's values depend only on the seed and its position.
+     */
+    private static SplittableRandom rowRandom(long seed, int table, long index) {
+        return new SplittableRandom(mix(seed, table, index));
+    }
+    
+    private static long mix(long seed, int table, long index) {
+        // SplitMix64 finalizer over the combined inputs
+        long z = seed * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + index;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Creation times rise with the row position, with a little jitter, across the history window.
+     */
+    private static Timestamp timestamp(long index, long rows, SplittableRandom random) {
+        long offset = HISTORY_SECONDS - (long) (HISTORY_SECONDS * ((index + random.nextDouble()) / Math.max(1, rows)));
+        return Timestamp.valueOf(HISTORY_END.minusSeconds(offset));
+    }
+    
+    /**
+     * Mostly recent: the age in years is exponential with a mean of twelve, floored at 1850.
+     */
+    private static Date publicationDate(SplittableRandom random) {
+        int years = (int) Math.min(175, -Math.log(1.0 - random.nextDouble()) * 12);
+        return Date.valueOf(LocalDate.of(HISTORY_END.getYear() - 1 - years, 1, 1).plusDays(random.nextInt(365)));
+    }
+    
+    /**
+     * Log-normal around 14.99, ending in .99 or .49.
+     */
+    private static BigDecimal price(SplittableRandom random) {
+        long dollars = Math.max(0, Math.min(199, Math.round(14 * Math.exp(0.5 * SyntheticText.gaussian(random)))));
+        return BigDecimal.valueOf(dollars * 100 + (random.nextInt(4) == 0 ? 49 : 99), 2);
+    }
+    
+    private static int pageCount(SplittableRandom random) {
+        return (int) Math.max(24, Math.min(2000, Math.round(300 * Math.exp(0.45 * SyntheticText.gaussian(random)))));
+    }
+    
+    private static Book.Genre genre(SplittableRandom random) {
+        double target = random.nextDouble() * GENRE_WEIGHTS[GENRE_WEIGHTS.length - 1];
+        for (int i = 0; i < GENRE_WEIGHTS.length; i++) {
+            if (target < GENRE_WEIGHTS[i]) {
+                return GENRES[i];
+            }
+        }
+        return GENRES[GENRES.length - 1];
+    }
+    
+    /**
+     * A valid-looking ISBN-13 in the 979 range, unique per id below a billion.
+     */
+    private static String isbn(long id) {
+        String digits = "979" + String.format("%09d", id % 1_000_000_000L);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
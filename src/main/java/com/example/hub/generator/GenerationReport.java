@@ -0,0 +1,33 @@
+package com.example.hub.generator;
+
+/**
+ * Outcome of one {@link CatalogGenerator} run.
+ */
+public class GenerationReport {
+    
+    private final long authors;
+    private final long books;
+    private final long elapsedMillis;
+    
+    public GenerationReport(long authors, long books, long elapsedMillis) {
+        this.authors = authors;
+        this.books = books;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getAuthors() {
+        return authors;
+    }
+    
+    public long getBooks() {
+        return books;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public long getBooksPerSecond() {
+        return elapsedMillis == 0 ? books : books * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.hub.generator;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Titles, descriptions and names for generated rows. Words follow a Zipf distribution over
+ * {@link #VOCABULARY}, so the earlier words are the most frequent, as in real text.
+ */
+public final class SyntheticText {
+    
+    /**
+     * Ordered from most to least frequent.
+     */
+    public static final List<String> VOCABULARY = List.of(
+            "river", "shadow", "garden", "empire", "winter", "silver", "journey", "ocean", "forest", "memory",
+            "secret", "kingdom", "storm", "light", "city", "night", "mountain", "letter", "dragon", "island",
+            "summer", "glass", "fire", "machine", "voyage", "harbor", "crown", "mirror", "desert", "bridge",
+            "clock", "lantern", "valley", "echo", "orchard", "signal", "thunder", "archive", "compass", "meadow",
+            "house", "world", "time", "love", "war", "heart", "road", "star", "sea", "stone",
+            "daughter", "king", "queen", "music", "blood", "dream", "ghost", "meadowlark", "wolf", "raven",
+            "street", "window", "autumn", "spring", "tower", "country", "promise", "silence", "history", "science",
+            "family", "stranger", "soldier", "doctor", "painter", "teacher", "sailor", "library", "railway", "depot",
+            "fortune", "harvest", "temple", "border", "colony", "planet", "engine", "circuit", "code", "network",
+            "market", "money", "power", "nation", "revolution", "republic", "theory", "language", "mind", "body",
+            "kitchen", "recipe", "pilgrim", "atlas", "chronicle", "legend", "myth", "saga", "song", "poem",
+            "detective", "murder", "alibi", "witness", "verdict", "prison", "escape", "spy", "cipher", "agent",
+            "wizard", "spell", "sword", "castle", "forge", "rune", "prophecy", "oracle", "quest", "beast",
+            "rocket", "orbit", "galaxy", "android", "station", "beacon", "frontier", "nebula", "reactor", "drift",
+            "habit", "focus", "balance", "courage", "wisdom", "purpose", "growth", "leader", "practice", "change",
+            "salt", "copper", "amber", "ivory", "velvet", "marble", "paper", "ink", "feather", "thread",
+            "north", "south", "east", "west", "harbour", "canyon", "glacier", "prairie", "delta", "lagoon",
+            "morning", "evening", "midnight", "twilight", "dawn", "season", "century", "decade", "moment", "hour");
+    
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Clara", "David", "Elena", "Farid", "Grace", "Hiro", "Ingrid", "Jonas",
+            "Kemi", "Liam", "Maya", "Nikolai", "Olivia", "Pedro", "Quinn", "Rosa", "Samuel", "Tara",
+            "Umar", "Vera", "William", "Xin", "Yusuf", "Zoe", "Amelia", "Bruno", "Chloe", "Dmitri"};
+    
+    private static final String[] LAST_NAMES = {
+            "Adams", "Baker", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Haddad", "Ito", "Jensen",
+            "Kowalski", "Larsen", "Moreau", "Nakamura", "Okafor", "Petrov", "Quintero", "Rossi", "Silva", "Tanaka",
+            "Unger", "Varga", "Walker", "Xu", "Yilmaz", "Zimmermann", "Abbott", "Brennan", "Costa", "Novak"};
+    
+    private final ZipfSampler words;
+    
+    SyntheticText(double exponent) {
+        this.words = new ZipfSampler(VOCABULARY.size(), exponent);
+    }
+    
+    String word(SplittableRandom random) {
+        return VOCABULARY.get(words.sample(random));
+    }
+    
+    /**
+     * Mostly two to four words, occasionally up to eight, capitalized.
+     */
+    String title(SplittableRandom random, long number) {
+        int length = 1 + Math.min(7, geometric(random, 0.45));
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            String word = word(random);
+            title.append(i > 0 ? " " : "").append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        // Keeps titles distinct, so sorting by title has no long runs of ties
+        return title.append(' ').append(number).toString();
+    }
+    
+    /**
+     * A log-normal number of words around {@code medianWords}, cut at {@code maxLength} characters.
+     */
+    String paragraph(SplittableRandom random, int medianWords, int maxLength) {
+        int length = Math.max(3, (int) Math.round(medianWords * Math.exp(0.6 * gaussian(random))));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            String word = word(random);
+            if (text.length() + word.length() + 2 > maxLength) {
+                break;
+            }
+            text.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+        }
+        return text.append('.').toString();
+    }
+    
+    String authorName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + ' ' + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+    
+    static int geometric(SplittableRandom random, double p) {
+        return (int) (Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+    
+    static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+}
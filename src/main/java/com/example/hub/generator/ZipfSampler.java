@@ -0,0 +1,28 @@
+package com.example.hub.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks {@code 0 .. n-1} with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * by binary search over a precomputed cumulative table.
+ */
+final class ZipfSampler {
+    
+    private final double[] cumulative;
+    
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+    
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
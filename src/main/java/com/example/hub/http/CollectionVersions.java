@@ -0,0 +1,53 @@
+package com.example.hub.http;
+
+import com.example.hub.event.AuthorBookCountChangedEvent;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.BookChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version stamps for the book and author collections, so list endpoints can answer
+ * conditional requests without running their queries.
+ * <p>
+ * A committed write bumps every collection whose list representations it can change: author
+ * names appear in book lists, and book counts in author lists. The stamps start over on
+ * restart, so each ETag also carries the start time of this instance. Collections change
+ * far more often than once a second, so their versions carry no Last-Modified time.
+ */
+@Component
+public class CollectionVersions {
+    
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    
+    public ResourceVersion current(String collection) {
+        return ResourceVersion.of(collection + ':' + epoch + ':' + versions.getOrDefault(collection, 0L));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bump(BOOKS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        bump(AUTHORS);
+        bump(BOOKS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorBookCountChanged(AuthorBookCountChangedEvent event) {
+        bump(AUTHORS);
+    }
+    
+    private void bump(String collection) {
+        versions.merge(collection, 1L, Long::sum);
+    }
+}
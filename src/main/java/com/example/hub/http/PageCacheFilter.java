@@ -0,0 +1,178 @@
+package com.example.hub.http;
+
+import com.example.hub.event.AuthorBookCountChangedEvent;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.BookChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the rendered HTML of the home, dashboard and list pages, keyed by path and query
+ * parameters, so a hit is written straight from memory without reaching a controller,
+ * the database or Thymeleaf.
+ * <p>
+ * Every committed book or author write drops all pages, since any of them may show the
+ * change. A page rendered while a write committed is not kept. Pages also expire after
+ * {@code hub.page-cache.ttl-ms}, because totals on them can come from the approximate count
+ * cache. Requests carrying flash attributes bypass the cache, as their page shows a
+ * one-off message.
+ */
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+    
+    /**
+     * Request attribute that keeps the current response out of the cache, e.g. for a page
+     * rendered with a degraded widget.
+     */
+    public static final String SKIP_CACHE_ATTRIBUTE = PageCacheFilter.class.getName() + ".SKIP";
+    
+    private static final String FLASH_MAPS_ATTRIBUTE = SessionFlashMapManager.class.getName() + ".FLASH_MAPS";
+    
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    
+    @Value("${hub.page-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${hub.page-cache.paths:/,/dashboard,/books,/authors}")
+    private Set<String> paths;
+    
+    @Value("${hub.page-cache.max-entries:500}")
+    private int maxEntries;
+    
+    @Value("${hub.page-cache.ttl-ms:60000}")
+    private long ttlMillis;
+    
+    private final AtomicLong generation = new AtomicLong();
+    
+    private final Map<String, Page> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Page> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"GET".equals(request.getMethod())
+                || !paths.contains(urlPathHelper.getPathWithinApplication(request))
+                || hasFlashAttributes(request);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = key(request);
+        long observed = generation.get();
+        long now = System.currentTimeMillis();
+        Page page;
+        synchronized (pages) {
+            page = pages.get(key);
+        }
+        if (page != null && page.generation == observed && now - page.renderedAt <= ttlMillis) {
+            response.setContentType(page.contentType);
+            response.setContentLength(page.body.length);
+            response.getOutputStream().write(page.body);
+            return;
+        }
+        
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(wrapper) && request.getAttribute(SKIP_CACHE_ATTRIBUTE) == null) {
+                synchronized (pages) {
+                    // Pages are dropped on every write; skip the store if one happened while rendering
+                    if (generation.get() == observed) {
+                        pages.put(key, new Page(wrapper.getContentAsByteArray(), wrapper.getContentType(), observed, now));
+                    }
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidateAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        invalidateAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorBookCountChanged(AuthorBookCountChangedEvent event) {
+        invalidateAll();
+    }
+    
+    private void invalidateAll() {
+        synchronized (pages) {
+            generation.incrementAndGet();
+            pages.clear();
+        }
+    }
+    
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getContentType() != null
+                && MediaType.TEXT_HTML.isCompatibleWith(MediaType.parseMediaType(response.getContentType()));
+    }
+    
+    private static boolean hasFlashAttributes(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        Object flashMaps = session.getAttribute(FLASH_MAPS_ATTRIBUTE);
+        return flashMaps instanceof Collection && !((Collection<?>) flashMaps).isEmpty();
+    }
+    
+    /**
+     * Path plus parameters in name order, so equivalent query strings share one page.
+     */
+    private String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(urlPathHelper.getPathWithinApplication(request));
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.forEach((name, values) -> {
+            for (String value : values) {
+                key.append('&').append(name).append('=').append(value);
+            }
+        });
+        return key.toString();
+    }
+    
+    private static final class Page {
+        private final byte[] body;
+        private final String contentType;
+        private final long generation;
+        private final long renderedAt;
+        
+        private Page(byte[] body, String contentType, long generation, long renderedAt) {
+            this.body = body;
+            this.contentType = contentType;
+            this.generation = generation;
+            this.renderedAt = renderedAt;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hub.http;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validators for one representation: a strong ETag and, where one second is fine enough to
+ * tell versions apart, a Last-Modified time.
+ * <p>
+ * Handlers resolve the version before loading the body and return {@code null} when
+ * {@link #checkNotModified(WebRequest)} has already answered the request with a 304. A write
+ * that commits in between then only makes the sent ETag older than the body, which costs
+ * the client one extra full response later, never a stale 304.
+ */
+public final class ResourceVersion {
+    
+    private final String etag;
+    private final Instant lastModified;
+    
+    private ResourceVersion(String etag, Instant lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+    
+    /**
+     * @param key every value the representation depends on, e.g. ids and modification stamps
+     */
+    public static ResourceVersion of(String key, Instant lastModified) {
+        String digest = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion('"' + digest + '"', lastModified.truncatedTo(ChronoUnit.SECONDS));
+    }
+    
+    /**
+     * A version with an ETag only, for representations that can change several times within
+     * the one-second resolution of Last-Modified; a client revalidating with
+     * {@code If-Modified-Since} could otherwise get a 304 for a change made in the same second.
+     */
+    public static ResourceVersion of(String key) {
+        String digest = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion('"' + digest + '"', null);
+    }
+    
+    /**
+     * The latest of the given entity timestamps, which are written in the JVM's zone.
+     */
+    public static Instant latest(LocalDateTime... stamps) {
+        LocalDateTime latest = null;
+        for (LocalDateTime stamp : stamps) {
+            if (stamp != null && (latest == null || stamp.isAfter(latest))) {
+                latest = stamp;
+            }
+        }
+        return latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    /**
+     * @return {@code null} for a version with an ETag only
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    /**
+     * Evaluates {@code If-None-Match} / {@code If-Modified-Since}; when this returns {@code true}
+     * the response is already a 304 and the handler must not write a body.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        return lastModified != null ? request.checkNotModified(etag, lastModified.toEpochMilli())
+                : request.checkNotModified(etag);
+    }
+    
+    public <T> ResponseEntity<T> ok(T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hub.ingest;
+
+import com.example.hub.entity.Author;
+
+/**
+ * One line of an author feed.
+ */
+public class AuthorIngestRecord {
+    
+    private String name;
+    private String email;
+    private String bio;
+    
+    Author toAuthor() {
+        return new Author(name, email, bio);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getBio() {
+        return bio;
+    }
+    
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+}
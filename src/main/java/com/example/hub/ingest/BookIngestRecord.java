@@ -0,0 +1,105 @@
+package com.example.hub.ingest;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of a book feed. The author is referenced by {@code authorId} or, when that is
+ * absent, by {@code authorEmail}.
+ */
+public class BookIngestRecord {
+    
+    private String title;
+    private String isbn;
+    private String description;
+    private LocalDate publicationDate;
+    private BigDecimal price;
+    private Integer pageCount;
+    private Book.Genre genre;
+    private Long authorId;
+    private String authorEmail;
+    
+    Book toBook(Author author) {
+        Book book = new Book(title, isbn, description, author);
+        book.setPublicationDate(publicationDate);
+        book.setPrice(price);
+        book.setPageCount(pageCount);
+        book.setGenre(genre);
+        return book;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getIsbn() {
+        return isbn;
+    }
+    
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDate getPublicationDate() {
+        return publicationDate;
+    }
+    
+    public void setPublicationDate(LocalDate publicationDate) {
+        this.publicationDate = publicationDate;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+    
+    public Integer getPageCount() {
+        return pageCount;
+    }
+    
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+    
+    public Book.Genre getGenre() {
+        return genre;
+    }
+    
+    public void setGenre(Book.Genre genre) {
+        this.genre = genre;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+    
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+    
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+}
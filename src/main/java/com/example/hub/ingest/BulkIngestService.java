@@ -0,0 +1,110 @@
+package com.example.hub.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streams newline-delimited JSON feeds into the database.
+ * <p>
+ * Lines are parsed one at a time and written in chunks of {@code hub.ingest.chunk-size}
+ * records. Each chunk commits in its own transaction, so memory stays flat however long the
+ * feed is. Bad records are reported with their line number and skipped. If the database
+ * rejects a whole chunk, its records are retried one by one to isolate the bad ones.
+ */
+@Service
+public class BulkIngestService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkIngestService.class);
+    
+    @Autowired
+    private IngestChunkWriter chunkWriter;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${hub.ingest.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${hub.ingest.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    public IngestReport ingestBooks(InputStream body) throws IOException {
+        return ingest(body, BookIngestRecord.class, chunkWriter::writeBooks);
+    }
+    
+    public IngestReport ingestAuthors(InputStream body) throws IOException {
+        return ingest(body, AuthorIngestRecord.class, chunkWriter::writeAuthors);
+    }
+    
+    private <T> IngestReport ingest(InputStream body, Class<T> recordType,
+                                    Function<List<IngestLine<T>>, ChunkResult> writer) throws IOException {
+        long started = System.nanoTime();
+        IngestReport report = new IngestReport(maxReportedErrors);
+        ObjectReader reader = objectMapper.readerFor(recordType);
+        
+        List<IngestLine<T>> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long number = 0;
+            String text;
+            while ((text = lines.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                report.recordReceived();
+                try {
+                    chunk.add(new IngestLine<>(number, reader.readValue(text)));
+                } catch (JsonProcessingException e) {
+                    report.addError(new IngestError(number, "Malformed record: " + e.getOriginalMessage()));
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    write(chunk, writer, report);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, writer, report);
+        }
+        
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Ingested {} of {} {} records in {} ms ({} failed)", report.getInserted(), report.getReceived(),
+                recordType.getSimpleName(), report.getElapsedMillis(), report.getFailed());
+        return report;
+    }
+    
+    private <T> void write(List<IngestLine<T>> chunk, Function<List<IngestLine<T>>, ChunkResult> writer,
+                           IngestReport report) {
+        try {
+            report.add(writer.apply(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                report.addError(new IngestError(chunk.get(0).getNumber(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                return;
+            }
+            log.debug("Chunk starting at line {} was rejected; retrying its records one by one",
+                    chunk.get(0).getNumber(), e);
+            for (IngestLine<T> line : chunk) {
+                write(List.of(line), writer, report);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hub.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one committed chunk: rows written and records rejected before writing.
+ */
+class ChunkResult {
+    
+    private int inserted;
+    private final List<IngestError> errors = new ArrayList<>();
+    
+    void recordInserted() {
+        inserted++;
+    }
+    
+    void reject(IngestLine<?> line, String message) {
+        errors.add(new IngestError(line.getNumber(), message));
+    }
+    
+    int getInserted() {
+        return inserted;
+    }
+    
+    List<IngestError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.hub.ingest;
+
+import com.example.hub.cache.UniqueKeyIndex;
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.service.AuthorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one chunk of a bulk load in its own transaction. Authors and ISBN duplicates are
+ * resolved with one {@code IN} query per chunk instead of per record; values the
+ * {@link UniqueKeyIndex} rules out are left out of the duplicate query. Valid rows are then
+ * persisted and flushed as JDBC batches.
+ * <p>
+ * Invalid records are rejected individually. An exception means the database refused the
+ * chunk; nothing from it was committed.
+ */
+@Component
+public class IngestChunkWriter {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private AuthorRepository authorRepository;
+    
+    @Autowired
+    private AuthorService authorService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private UniqueKeyIndex uniqueKeyIndex;
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult writeBooks(List<IngestLine<BookIngestRecord>> lines) {
+        ChunkResult result = new ChunkResult();
+        
+        Set<Long> authorIds = lines.stream()
+                .map(line -> line.getRecord().getAuthorId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> authorEmails = lines.stream()
+                .filter(line -> line.getRecord().getAuthorId() == null)
+                .map(line -> line.getRecord().getAuthorEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Author> authorsById = authorIds.isEmpty() ? Map.of() : authorRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        Map<String, Author> authorsByEmail = authorEmails.isEmpty() ? Map.of() : authorRepository.findByEmailIn(authorEmails).stream()
+                .collect(Collectors.toMap(Author::getEmail, Function.identity()));
+        
+        Set<String> isbns = lines.stream()
+                .map(line -> line.getRecord().getIsbn())
+                .filter(isbn -> isbn != null && !isbn.isBlank())
+                .collect(Collectors.toSet());
+        Set<String> takenIsbns = uniqueKeyIndex.findExisting(UniqueKeyIndex.Key.ISBN, isbns, bookRepository::findExistingIsbns);
+        
+        // Sorted so the counter rows are locked in id order, as BookService does
+        Map<Long, Integer> addedPerAuthor = new TreeMap<>();
+        for (IngestLine<BookIngestRecord> line : lines) {
+            BookIngestRecord record = line.getRecord();
+            Author author = record.getAuthorId() != null
+                    ? authorsById.get(record.getAuthorId())
+                    : authorsByEmail.get(record.getAuthorEmail());
+            if (author == null) {
+                result.reject(line, record.getAuthorId() == null && record.getAuthorEmail() == null
+                        ? "Author is required"
+                        : "Author not found: " + (record.getAuthorId() != null ? record.getAuthorId() : record.getAuthorEmail()));
+                continue;
+            }
+            
+            Book book = record.toBook(author);
+            String violations = describe(validator.validate(book));
+            if (violations != null) {
+                result.reject(line, violations);
+                continue;
+            }
+            if (book.getIsbn() != null && !book.getIsbn().isBlank() && !takenIsbns.add(book.getIsbn())) {
+                result.reject(line, "A book with this ISBN already exists");
+                continue;
+            }
+            
+            uniqueKeyIndex.add(UniqueKeyIndex.Key.ISBN, book.getIsbn());
+            entityManager.persist(book);
+            addedPerAuthor.merge(author.getId(), 1, Integer::sum);
+            result.recordInserted();
+        }
+        
+        entityManager.flush();
+        addedPerAuthor.forEach(authorService::adjustBookCount);
+        entityManager.clear();
+        return result;
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult writeAuthors(List<IngestLine<AuthorIngestRecord>> lines) {
+        ChunkResult result = new ChunkResult();
+        
+        Set<String> emails = lines.stream()
+                .map(line -> line.getRecord().getEmail())
+                .filter(email -> email != null && !email.isBlank())
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = uniqueKeyIndex.findExisting(UniqueKeyIndex.Key.EMAIL, emails,
+                authorRepository::findExistingEmails);
+        
+        for (IngestLine<AuthorIngestRecord> line : lines) {
+            Author author = line.getRecord().toAuthor();
+            String violations = describe(validator.validate(author));
+            if (violations != null) {
+                result.reject(line, violations);
+                continue;
+            }
+            if (author.getEmail() != null && !author.getEmail().isBlank() && !takenEmails.add(author.getEmail())) {
+                result.reject(line, "An author with this email already exists");
+                continue;
+            }
+            
+            uniqueKeyIndex.add(UniqueKeyIndex.Key.EMAIL, author.getEmail());
+            entityManager.persist(author);
+            result.recordInserted();
+        }
+        
+        entityManager.flush();
+        entityManager.clear();
+        return result;
+    }
+    
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hub.ingest;
+
+public class IngestError {
+    
+    private final long line;
+    private final String message;
+    
+    public IngestError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+    
+    public long getLine() {
+        return line;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
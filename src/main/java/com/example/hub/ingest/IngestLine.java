@@ -0,0 +1,23 @@
+package com.example.hub.ingest;
+
+/**
+ * A parsed record together with its 1-based line number in the uploaded feed.
+ */
+class IngestLine<T> {
+    
+    private final long number;
+    private final T record;
+    
+    IngestLine(long number, T record) {
+        this.number = number;
+        this.record = record;
+    }
+    
+    long getNumber() {
+        return number;
+    }
+    
+    T getRecord() {
+        return record;
+    }
+}
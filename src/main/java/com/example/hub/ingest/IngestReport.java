@@ -0,0 +1,70 @@
+package com.example.hub.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk load. Only the first {@code hub.ingest.max-reported-errors} errors are
+ * listed; {@code failed} always counts all of them.
+ */
+public class IngestReport {
+    
+    private final int maxReportedErrors;
+    private long received;
+    private long inserted;
+    private long failed;
+    private long elapsedMillis;
+    private final List<IngestError> errors = new ArrayList<>();
+    
+    IngestReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    void recordReceived() {
+        received++;
+    }
+    
+    void add(ChunkResult result) {
+        inserted += result.getInserted();
+        result.getErrors().forEach(this::addError);
+    }
+    
+    void addError(IngestError error) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(error);
+        }
+    }
+    
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getReceived() {
+        return received;
+    }
+    
+    public long getInserted() {
+        return inserted;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public long getRecordsPerSecond() {
+        return elapsedMillis > 0 ? inserted * 1000 / elapsedMillis : inserted;
+    }
+    
+    public List<IngestError> getErrors() {
+        return errors;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hub.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a {@code handler} tag, e.g. {@code BookController.viewBook}, to the
+ * {@code http.server.requests} timers, so latency can be broken down per controller method
+ * rather than only per URI template.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+    
+    static final String NONE = "none";
+    
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", handlerName(handler)));
+    }
+    
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + '.' + method.getMethod().getName();
+        }
+        return NONE;
+    }
+}
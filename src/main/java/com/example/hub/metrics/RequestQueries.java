@@ -0,0 +1,113 @@
+package com.example.hub.metrics;
+
+import jakarta.servlet.ServletRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SQL statements executed within one request or {@link SqlStatementCounter#capture}
+ * scope: how many, how long they took in total, and which statement texts ran more than once.
+ * <p>
+ * After a request completes it is available as a request attribute, so MockMvc tests can
+ * assert a handler's query count with {@link #from(ServletRequest)}.
+ */
+public class RequestQueries {
+    
+    public static final String ATTRIBUTE = RequestQueries.class.getName();
+    
+    // Distinct bind sets tracked per statement text; enough to tell N+1 from a plain repeat
+    private static final int MAX_TRACKED_BINDS = 100;
+    
+    private final Map<String, Executions> bySql = new LinkedHashMap<>();
+    private int statementCount;
+    private long totalNanos;
+    
+    public static RequestQueries from(ServletRequest request) {
+        return (RequestQueries) request.getAttribute(ATTRIBUTE);
+    }
+    
+    void record(String sql, String binds, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        Executions executions = bySql.computeIfAbsent(sql, Executions::new);
+        executions.count++;
+        if (executions.binds.size() < MAX_TRACKED_BINDS) {
+            executions.binds.add(binds);
+        }
+    }
+    
+    public int getStatementCount() {
+        return statementCount;
+    }
+    
+    public double getTotalMillis() {
+        return totalNanos / 1e6;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    /**
+     * Statement texts executed more than once, most repeated first.
+     */
+    public List<RepeatedStatement> getRepeatedStatements() {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        for (Executions executions : bySql.values()) {
+            if (executions.count > 1) {
+                repeated.add(new RepeatedStatement(executions.sql, executions.count, executions.binds.size()));
+            }
+        }
+        repeated.sort(Comparator.comparingInt(RepeatedStatement::getExecutions).reversed());
+        return repeated;
+    }
+    
+    private static final class Executions {
+        private final String sql;
+        private final Set<String> binds = new HashSet<>();
+        private int count;
+        
+        private Executions(String sql) {
+            this.sql = sql;
+        }
+    }
+    
+    /**
+     * One statement text that ran several times. With as many distinct binds as executions it
+     * is the N+1 shape, one query per parent row; with identical binds it is redundant work.
+     */
+    public static class RepeatedStatement {
+        
+        private final String sql;
+        private final int executions;
+        private final int distinctBinds;
+        
+        public RepeatedStatement(String sql, int executions, int distinctBinds) {
+            this.sql = sql;
+            this.executions = executions;
+            this.distinctBinds = distinctBinds;
+        }
+        
+        public String getSql() {
+            return sql;
+        }
+        
+        public int getExecutions() {
+            return executions;
+        }
+        
+        public int getDistinctBinds() {
+            return distinctBinds;
+        }
+        
+        public boolean isNPlusOne() {
+            return distinctBinds > 1;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hub.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements a controller method, or every method of a controller, is expected
+ * to execute per request. Requests over budget are logged as warnings; handlers without one
+ * are held to {@code hub.sql-budget.default-statements}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface SqlBudget {
+    
+    int value();
+}
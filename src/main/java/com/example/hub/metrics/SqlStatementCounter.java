@@ -0,0 +1,86 @@
+package com.example.hub.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Tallies the SQL statements executed on the current thread into a {@link RequestQueries},
+ * between {@link #begin()} and {@link #end()}. It listens on the proxied {@code DataSource},
+ * so every statement is seen, whether it comes from Hibernate, a native query or JDBC.
+ * <p>
+ * Only the counting thread is tracked, so queries fanned out to {@code ParallelReads}
+ * workers are not part of a request's tally.
+ */
+@Component
+public class SqlStatementCounter implements QueryExecutionListener {
+    
+    private static final String STARTED = "hub.started-nanos";
+    
+    private final ThreadLocal<RequestQueries> current = new ThreadLocal<>();
+    
+    public void begin() {
+        current.set(new RequestQueries());
+    }
+    
+    public RequestQueries end() {
+        RequestQueries queries = current.get();
+        current.remove();
+        return queries;
+    }
+    
+    /**
+     * Runs {@code work} and returns the statements it executed on this thread.
+     */
+    public RequestQueries capture(Runnable work) {
+        RequestQueries outer = current.get();
+        begin();
+        try {
+            work.run();
+            return current.get();
+        } finally {
+            current.set(outer);
+            if (outer == null) {
+                current.remove();
+            }
+        }
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (current.get() != null) {
+            execInfo.addCustomValue(STARTED, System.nanoTime());
+        }
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueries queries = current.get();
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (queries == null || started == null) {
+            return;
+        }
+        long nanos = (System.nanoTime() - started) / Math.max(1, queryInfoList.size());
+        for (QueryInfo query : queryInfoList) {
+            queries.record(query.getQuery(), binds(query), nanos);
+        }
+    }
+    
+    private static String binds(QueryInfo query) {
+        StringJoiner binds = new StringJoiner(";");
+        for (List<ParameterSetOperation> parameters : query.getParametersList()) {
+            StringJoiner values = new StringJoiner(",");
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                values.add(args.length > 1 ? String.valueOf(args[1]) : "");
+            }
+            binds.add(values.toString());
+        }
+        return binds.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hub.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts the SQL each controller method issues. Records {@code hub.sql.statements} and
+ * {@code hub.sql.time} per handler, and warns when a request goes over its {@link SqlBudget}
+ * or runs one statement text {@code hub.sql-budget.repeat-threshold} times or more, the
+ * signature of an N+1 load. View rendering is included, since open-in-view can still
+ * lazy-load there.
+ */
+@Component
+public class SqlStatementsInterceptor implements HandlerInterceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementsInterceptor.class);
+    
+    @Autowired
+    private SqlStatementCounter counter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${hub.sql-budget.default-statements:10}")
+    private int defaultBudget;
+    
+    @Value("${hub.sql-budget.repeat-threshold:3}")
+    private int repeatThreshold;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        counter.begin();
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueries queries = counter.end();
+        if (queries == null) {
+            return;
+        }
+        request.setAttribute(RequestQueries.ATTRIBUTE, queries);
+        
+        String handlerName = HandlerObservationConvention.handlerName(handler);
+        DistributionSummary.builder("hub.sql.statements")
+                .description("SQL statements issued while handling one request")
+                .baseUnit("statements")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(queries.getStatementCount());
+        Timer.builder("hub.sql.time")
+                .description("Time spent executing SQL while handling one request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(queries.getTotalNanos(), TimeUnit.NANOSECONDS);
+        
+        int budget = budget(handler);
+        if (queries.getStatementCount() > budget) {
+            log.warn("{} {} ran {} SQL statements in {} ms, over its budget of {}", request.getMethod(),
+                    request.getRequestURI(), queries.getStatementCount(), String.format("%.1f", queries.getTotalMillis()),
+                    budget);
+        }
+        for (RequestQueries.RepeatedStatement repeated : queries.getRepeatedStatements()) {
+            if (repeated.getExecutions() < repeatThreshold) {
+                break;
+            }
+            log.warn("{} {} ran the same statement {} times with {} different binds{}: {}", request.getMethod(),
+                    request.getRequestURI(), repeated.getExecutions(), repeated.getDistinctBinds(),
+                    repeated.isNPlusOne() ? " (possible N+1)" : "", repeated.getSql());
+        }
+    }
+    
+    private int budget(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), SqlBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), SqlBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+}
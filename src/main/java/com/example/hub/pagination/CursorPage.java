@@ -0,0 +1,54 @@
+package com.example.hub.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} on the last page.
+ */
+public class CursorPage<T> {
+    
+    private final List<T> content;
+    private final int size;
+    private final String sortBy;
+    private final String sortDir;
+    private final String nextCursor;
+    
+    public CursorPage(List<T> content, int size, String sortBy, String sortDir, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.sortBy = sortBy;
+        this.sortDir = sortDir;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public String getSortBy() {
+        return sortBy;
+    }
+    
+    public String getSortDir() {
+        return sortDir;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+    
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        List<R> converted = content.stream().map(converter).collect(Collectors.toList());
+        return new CursorPage<>(converted, size, sortBy, sortDir, nextCursor);
+    }
+}
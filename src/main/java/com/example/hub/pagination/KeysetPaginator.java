@@ -0,0 +1,112 @@
+package com.example.hub.pagination;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs seek-method page queries: instead of {@code OFFSET n}, each page continues from the
+ * {@code (sortKey, id)} of the previous page's last row, so the cost of a page does not
+ * grow with its depth. Rows with a {@code null} sort key are ordered last in both directions.
+ * <p>
+ * Rows with a sort key and rows without one are paged as two separate seeks, each a single
+ * range over the {@code (sortKey, id)} index: a page that runs out of keyed rows is filled
+ * from the start of the {@code null} rows, and a cursor past the last keyed row only reads
+ * those.
+ */
+@Component
+public class KeysetPaginator {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public <T> CursorPage<T> fetch(KeysetSpec<T> spec, String sortBy, String sortDir, String cursor,
+                                   int size, Map<String, Object> filters) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        SeekCursor after = cursor != null && !cursor.isBlank() ? SeekCursor.decode(cursor) : null;
+        SeekField<T> field = spec.field(after != null ? after.getField() : sortBy);
+        Sort.Direction direction = after != null ? after.getDirection()
+                : (sortDir != null && sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC);
+        Object lastValue = after != null ? field.parse(after.getLastValue()) : null;
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<T> rows = new ArrayList<>();
+        if (after == null || lastValue != null) {
+            rows.addAll(seek(spec, field, direction, filters, false, after, lastValue, size + 1));
+        }
+        if (field.isNullable() && rows.size() <= size) {
+            SeekCursor afterNull = after != null && lastValue == null ? after : null;
+            rows.addAll(seek(spec, field, direction, filters, true, afterNull, null, size + 1 - rows.size()));
+        }
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            T last = rows.get(size - 1);
+            nextCursor = new SeekCursor(field.getName(), direction, spec.idOf(last),
+                    SeekField.format(field.valueOf(last))).encode();
+        }
+        String order = direction.isAscending() ? "asc" : "desc";
+        return new CursorPage<>(rows, size, field.getName(), order, nextCursor);
+    }
+    
+    /**
+     * One seek over either the rows with a sort key or, when {@code nullSegment}, the rows
+     * without one, continuing after {@code after} if given.
+     */
+    private <T> List<T> seek(KeysetSpec<T> spec, SeekField<T> field, Sort.Direction direction,
+                             Map<String, Object> filters, boolean nullSegment, SeekCursor after, Object lastValue,
+                             int limit) {
+        String comparison = direction.isAscending() ? ">" : "<";
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        String column = "e." + field.getName();
+        
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ")
+                .append(entityManager.getMetamodel().entity(spec.getEntityType()).getName())
+                .append(" e");
+        spec.getFetchJoins().forEach(association -> jpql.append(" JOIN FETCH e.").append(association));
+        jpql.append(" WHERE 1 = 1");
+        filters.forEach((name, value) -> {
+            if (value != null) {
+                jpql.append(" AND e.").append(name).append(" = :").append(name);
+            }
+        });
+        
+        if (nullSegment) {
+            jpql.append(" AND ").append(column).append(" IS NULL");
+            if (after != null) {
+                jpql.append(" AND e.id ").append(comparison).append(" :lastId");
+            }
+            jpql.append(" ORDER BY e.id ").append(order);
+        } else {
+            if (after != null) {
+                jpql.append(" AND (").append(column).append(", e.id) ").append(comparison).append(" (:lastValue, :lastId)");
+            } else if (field.isNullable()) {
+                jpql.append(" AND ").append(column).append(" IS NOT NULL");
+            }
+            jpql.append(" ORDER BY ").append(column).append(' ').append(order).append(", e.id ").append(order);
+        }
+        
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), spec.getEntityType());
+        filters.forEach((name, value) -> {
+            if (value != null) {
+                query.setParameter(name, value);
+            }
+        });
+        if (after != null) {
+            query.setParameter("lastId", after.getLastId());
+            if (!nullSegment) {
+                query.setParameter("lastValue", lastValue);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hub.pagination;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Describes how one entity type may be keyset-paginated: its id and the columns
+ * clients are allowed to sort by.
+ */
+public class KeysetSpec<T> {
+    
+    private final Class<T> entityType;
+    private final Function<T, Long> idAccessor;
+    private final Map<String, SeekField<T>> fields = new LinkedHashMap<>();
+    private final List<String> fetchJoins = new ArrayList<>();
+    
+    public KeysetSpec(Class<T> entityType, Function<T, Long> idAccessor, List<SeekField<T>> fields) {
+        this.entityType = entityType;
+        this.idAccessor = idAccessor;
+        fields.forEach(field -> this.fields.put(field.getName(), field));
+    }
+    
+    /**
+     * Fetches a to-one association with each page, so reading it costs no extra query per row.
+     */
+    public KeysetSpec<T> fetching(String association) {
+        fetchJoins.add(association);
+        return this;
+    }
+    
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+    
+    List<String> getFetchJoins() {
+        return fetchJoins;
+    }
+    
+    Long idOf(T entity) {
+        return idAccessor.apply(entity);
+    }
+    
+    SeekField<T> field(String name) {
+        SeekField<T> field = fields.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Cannot paginate by '" + name + "'; allowed sort fields are " + fields.keySet());
+        }
+        return field;
+    }
+}
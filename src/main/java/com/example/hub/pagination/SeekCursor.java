@@ -0,0 +1,65 @@
+package com.example.hub.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort column and direction plus the
+ * sort value and id of the last row on the previous page.
+ */
+public class SeekCursor {
+    
+    private static final String NULL_VALUE = "-";
+    private static final String VALUE_PREFIX = "=";
+    
+    private final String field;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final String lastValue;
+    
+    public SeekCursor(String field, Sort.Direction direction, Long lastId, String lastValue) {
+        this.field = field;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public String getLastValue() {
+        return lastValue;
+    }
+    
+    public String encode() {
+        String raw = field + '|' + direction.name() + '|' + lastId + '|'
+                + (lastValue == null ? NULL_VALUE : VALUE_PREFIX + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static SeekCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            String value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(1) : null;
+            return new SeekCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), value);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64, unknown directions and malformed ids
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hub.pagination;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * A column that keyset pagination may order by, together with how to read it from an
+ * entity and how to restore it from a cursor.
+ */
+public class SeekField<T> {
+    
+    private final String name;
+    private final boolean nullable;
+    private final Function<T, Object> accessor;
+    private final Function<String, Object> parser;
+    
+    private SeekField(String name, boolean nullable, Function<T, Object> accessor, Function<String, Object> parser) {
+        this.name = name;
+        this.nullable = nullable;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+    
+    public static <T> SeekField<T> ofString(String name, Function<T, String> accessor) {
+        return new SeekField<>(name, false, accessor::apply, value -> value);
+    }
+    
+    public static <T> SeekField<T> ofDateTime(String name, Function<T, LocalDateTime> accessor) {
+        return new SeekField<>(name, true, accessor::apply, LocalDateTime::parse);
+    }
+    
+    public static <T> SeekField<T> ofDecimal(String name, Function<T, BigDecimal> accessor) {
+        return new SeekField<>(name, true, accessor::apply, BigDecimal::new);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public boolean isNullable() {
+        return nullable;
+    }
+    
+    Object valueOf(T entity) {
+        return accessor.apply(entity);
+    }
+    
+    Object parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+    
+    static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hub.pagination;
+
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.BookChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches {@code COUNT(*)} results for list pages, keyed by entity and filter.
+ * <p>
+ * A committed write bumps the generation of its entity's namespace, which makes every
+ * cached total for that entity stale without touching the entries. A stale total is still served, as an
+ * approximation, while a background thread recounts it. The caller pays for a synchronous
+ * count only on a miss or once an entry is older than {@code hub.count-cache.max-stale}.
+ */
+@Component
+public class TotalCountCache {
+    
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    
+    private static final Logger log = LoggerFactory.getLogger(TotalCountCache.class);
+    
+    @Value("${hub.count-cache.max-entries:1000}")
+    private int maxEntries;
+    
+    @Value("${hub.count-cache.ttl-ms:60000}")
+    private long ttlMillis;
+    
+    @Value("${hub.count-cache.max-stale-ms:300000}")
+    private long maxStaleMillis;
+    
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "count-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Wraps a count-free slice into a page whose total comes from the cache.
+     */
+    public <T> Page<T> toPage(Slice<T> slice, String namespace, String filter, LongSupplier counter) {
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), getTotal(namespace, filter, counter));
+    }
+    
+    public long getTotal(String namespace, String filter, LongSupplier counter) {
+        // A read-write transaction may see its own uncommitted rows; never cache those counts
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return counter.getAsLong();
+        }
+        
+        String key = namespace + ':' + filter;
+        AtomicLong generation = generation(namespace);
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        
+        if (entry == null || now - entry.computedAt > maxStaleMillis) {
+            return store(key, generation.get(), counter, now);
+        }
+        if (entry.generation != generation.get() || now - entry.computedAt > ttlMillis) {
+            scheduleRefresh(key, entry, generation, counter);
+        }
+        return entry.total;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        generation(BOOKS).incrementAndGet();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        generation(AUTHORS).incrementAndGet();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    private AtomicLong generation(String namespace) {
+        return generations.computeIfAbsent(namespace, name -> new AtomicLong());
+    }
+    
+    /**
+     * Counts and caches the result under the generation observed before counting, so a
+     * write that commits while the count runs leaves the entry stale.
+     */
+    private long store(String key, long generation, LongSupplier counter, long computedAt) {
+        long total = counter.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry(total, generation, computedAt));
+        }
+        return total;
+    }
+    
+    private void scheduleRefresh(String key, Entry entry, AtomicLong generation, LongSupplier counter) {
+        synchronized (entries) {
+            if (entry.refreshing) {
+                return;
+            }
+            entry.refreshing = true;
+        }
+        refresher.execute(() -> {
+            try {
+                store(key, generation.get(), counter, System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Refreshing cached total for {} failed", key, e);
+                synchronized (entries) {
+                    entry.refreshing = false;
+                }
+            }
+        });
+    }
+    
+    private static final class Entry {
+        private final long total;
+        private final long generation;
+        private final long computedAt;
+        private boolean refreshing;
+        
+        private Entry(long total, long generation, long computedAt) {
+            this.total = total;
+            this.generation = generation;
+            this.computedAt = computedAt;
+        }
+    }
+}
@@ -1,19 +1,42 @@
 package com.example.hub.repository;
 
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.dto.AuthorListItem;
+import com.example.hub.dto.AuthorOption;
 import com.example.hub.entity.Author;
+import com.example.hub.repository.projection.AuthorNameView;
+import com.example.hub.repository.projection.AuthorVersionView;
+import com.example.hub.repository.projection.AuthorWithBooksVersionView;
+import com.example.hub.repository.projection.UniqueKeyView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
     
+    String SELECT_LIST_ITEM = "SELECT new com.example.hub.dto.AuthorListItem(a.id, a.name, a.email, a.bookCount, " +
+            "a.createdAt) FROM Author a";
+    
+    String QUERY_CACHE_REGION = "author-queries";
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Author> findByEmail(String email);
     
     List<Author> findByNameContainingIgnoreCase(String name);
@@ -21,16 +44,72 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     @Query("SELECT a FROM Author a WHERE a.name LIKE %:keyword% OR a.email LIKE %:keyword%")
     List<Author> searchByKeyword(@Param("keyword") String keyword);
     
+    @Query("SELECT a.updatedAt AS updatedAt, a.bookCount AS bookCount FROM Author a WHERE a.id = :id")
+    Optional<AuthorVersionView> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT a.updatedAt AS updatedAt, a.bookCount AS bookCount, " +
+           "(SELECT MAX(b.updatedAt) FROM Book b WHERE b.author = a) AS booksUpdatedAt FROM Author a WHERE a.id = :id")
+    Optional<AuthorWithBooksVersionView> findWithBooksVersionById(@Param("id") Long id);
+    
     @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id = :id")
     Optional<Author> findByIdWithBooks(@Param("id") Long id);
     
     Page<Author> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
-    @Query("SELECT COUNT(a) FROM Author a")
-    long countAllAuthors();
+    Slice<Author> findAllBy(Pageable pageable);
+    
+    Slice<Author> findSliceByNameContainingIgnoreCase(String name, Pageable pageable);
+    
+    long countByNameContainingIgnoreCase(String name);
+    
+    List<Author> findByBookCountGreaterThanOrderByBookCountDescIdAsc(int bookCount);
+    
+    @Modifying
+    @Query("UPDATE Author a SET a.bookCount = a.bookCount + :delta WHERE a.id = :id")
+    int adjustBookCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE Author a SET a.bookCount = (SELECT COUNT(b) FROM Book b WHERE b.author = a)")
+    int recountBooks();
+    
+    @Query(value = SELECT_LIST_ITEM, countQuery = "SELECT COUNT(a) FROM Author a")
+    Page<AuthorListItem> findListItems(Pageable pageable);
     
-    @Query("SELECT a FROM Author a WHERE SIZE(a.books) > :bookCount")
-    List<Author> findAuthorsWithMoreThanBooks(@Param("bookCount") int bookCount);
+    @Query(SELECT_LIST_ITEM)
+    Slice<AuthorListItem> findListItemSlice(Pageable pageable);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE a.name LIKE %:keyword% OR a.email LIKE %:keyword%")
+    List<AuthorListItem> searchListItemsByKeyword(@Param("keyword") String keyword);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE a.bookCount > :bookCount ORDER BY a.bookCount DESC, a.id ASC")
+    List<AuthorListItem> findListItemsWithMoreThanBooks(@Param("bookCount") int bookCount);
+    
+    /**
+     * Forward-only read of all authors for export; see {@link BookRepository#streamAllDetails()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.hub.dto.AuthorDetail(a.id, a.name, a.email, a.bio, a.bookCount, a.createdAt, " +
+           "a.updatedAt) FROM Author a ORDER BY a.id")
+    Stream<AuthorDetail> streamAllDetails();
+    
+    @Query("SELECT new com.example.hub.dto.AuthorDetail(a.id, a.name, a.email, a.bio, a.bookCount, a.createdAt, " +
+           "a.updatedAt) FROM Author a WHERE a.id = :id")
+    Optional<AuthorDetail> findDetailById(@Param("id") Long id);
     
     boolean existsByEmail(String email);
+    
+    List<Author> findByEmailIn(Collection<String> emails);
+    
+    @Query("SELECT a.email FROM Author a WHERE a.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT a.id AS id, a.email AS uniqueKey FROM Author a WHERE a.id > :afterId AND a.email IS NOT NULL ORDER BY a.id")
+    List<UniqueKeyView> findEmailsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    List<AuthorNameView> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    List<AuthorNameView> findByNameStartingWithIgnoreCaseOrderByNameAsc(String prefix, Pageable pageable);
+    
+    @Query("SELECT new com.example.hub.dto.AuthorOption(a.id, a.name) FROM Author a")
+    List<AuthorOption> findAllOptions();
 }
@@ -0,0 +1,21 @@
+package com.example.hub.repository;
+
+import com.example.hub.entity.Book;
+import com.example.hub.search.BookFacetFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Queries for a {@link BookFacetFilter} combined with an optional title search, built per
+ * call because every selection adds its own predicates.
+ */
+public interface BookFacetQueries {
+    
+    /**
+     * Books matching the filter with their authors, in the pageable's order and then by id.
+     * A {@code null} title does not filter.
+     */
+    Slice<Book> findSliceByFacets(BookFacetFilter filter, String title, Pageable pageable);
+    
+    long countByFacets(BookFacetFilter filter, String title);
+}
@@ -0,0 +1,114 @@
+package com.example.hub.repository;
+
+import com.example.hub.entity.Book;
+import com.example.hub.search.BookFacetFilter;
+import com.example.hub.search.PriceBands;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the JPQL for {@link BookFacetQueries}. A price band or decade becomes a half-open
+ * range on {@code price} or {@code publicationDate}, so the queries use the same indexes as
+ * the single-filter ones and match exactly what the facet index counts.
+ */
+class BookFacetQueriesImpl implements BookFacetQueries {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PriceBands priceBands;
+    
+    @Override
+    public Slice<Book> findSliceByFacets(BookFacetFilter filter, String title, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(filter, title, parameters);
+        Sort sort = pageable.getSort().getOrderFor("id") != null ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("id"));
+        String jpql = QueryUtils.applySorting("SELECT b FROM Book b JOIN FETCH b.author" + where, sort, "b");
+        
+        TypedQuery<Book> query = entityManager.createQuery(jpql, Book.class);
+        parameters.forEach(query::setParameter);
+        // One extra row tells whether there is a next page without counting
+        List<Book> rows = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+    
+    @Override
+    public long countByFacets(BookFacetFilter filter, String title) {
+        Map<String, Object> parameters = new HashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery("SELECT COUNT(b) FROM Book b" + where(filter, title, parameters),
+                Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+    
+    private String where(BookFacetFilter filter, String title, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (!filter.getGenres().isEmpty()) {
+            where.append(" AND b.genre IN :genres");
+            parameters.put("genres", filter.getGenres());
+        }
+        
+        List<String> priceRanges = new ArrayList<>();
+        for (int band : filter.getPriceBands()) {
+            if (band < 0 || band >= priceBands.size()) {
+                priceRanges.add("1 = 0");
+                continue;
+            }
+            BigDecimal lower = priceBands.lowerBound(band);
+            BigDecimal upper = priceBands.upperBound(band);
+            StringBuilder range = new StringBuilder("(b.price IS NOT NULL");
+            if (lower != null) {
+                range.append(" AND b.price >= :priceFrom").append(band);
+                parameters.put("priceFrom" + band, lower);
+            }
+            if (upper != null) {
+                range.append(" AND b.price < :priceTo").append(band);
+                parameters.put("priceTo" + band, upper);
+            }
+            priceRanges.add(range.append(')').toString());
+        }
+        appendAnyOf(where, priceRanges);
+        
+        List<String> decadeRanges = new ArrayList<>();
+        for (int decade : filter.getDecades()) {
+            String name = "decade" + (decade < 0 ? "Minus" + -decade : decade);
+            decadeRanges.add("(b.publicationDate >= :" + name + "From AND b.publicationDate < :" + name + "To)");
+            parameters.put(name + "From", LocalDate.of(decade, 1, 1));
+            parameters.put(name + "To", LocalDate.of(decade + 10, 1, 1));
+        }
+        appendAnyOf(where, decadeRanges);
+        
+        if (title != null) {
+            where.append(" AND LOWER(b.title) LIKE :title ESCAPE '\\'");
+            parameters.put("title", '%' + title.toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + '%');
+        }
+        return where.toString();
+    }
+    
+    private static void appendAnyOf(StringBuilder where, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            where.append(" AND (").append(String.join(" OR ", conditions)).append(')');
+        }
+    }
+}
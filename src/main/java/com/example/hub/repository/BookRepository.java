@@ -1,48 +1,159 @@
 package com.example.hub.repository;
 
+import com.example.hub.dto.BookDetail;
+import com.example.hub.dto.BookListItem;
+import com.example.hub.dto.BookSummary;
 import com.example.hub.entity.Book;
+import com.example.hub.repository.projection.BookFacetView;
+import com.example.hub.repository.projection.BookPriceView;
+import com.example.hub.repository.projection.BookTextView;
+import com.example.hub.repository.projection.BookVersionView;
+import com.example.hub.repository.projection.UniqueKeyView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookFacetQueries {
     
+    String SELECT_LIST_ITEM = "SELECT new com.example.hub.dto.BookListItem(b.id, b.title, b.isbn, b.genre, b.price, " +
+            "b.publicationDate, a.id, a.name) FROM Book b JOIN b.author a";
+    
+    // Cached ids of the matching books; the books themselves come from the entity region
+    String QUERY_CACHE_REGION = "book-queries";
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Book> findByIsbn(String isbn);
     
     List<Book> findByTitleContainingIgnoreCase(String title);
     
     List<Book> findByAuthorId(Long authorId);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Book> findByGenre(Book.Genre genre);
     
-    @Query("SELECT b FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
-    List<Book> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice);
-    
     @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.id = :id")
     Optional<Book> findByIdWithAuthor(@Param("id") Long id);
     
+    @Query("SELECT b.updatedAt AS updatedAt, a.updatedAt AS authorUpdatedAt FROM Book b JOIN b.author a WHERE b.id = :id")
+    Optional<BookVersionView> findVersionById(@Param("id") Long id);
+    
     @Query("SELECT b FROM Book b WHERE b.title LIKE %:keyword% OR b.description LIKE %:keyword%")
     List<Book> searchByKeyword(@Param("keyword") String keyword);
     
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Page<Book> findByGenre(Book.Genre genre, Pageable pageable);
     
+    Slice<Book> findAllBy(Pageable pageable);
+    
+    Slice<Book> findSliceByTitleContainingIgnoreCase(String title, Pageable pageable);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    Slice<Book> findSliceByGenre(Book.Genre genre, Pageable pageable);
+    
+    long countByTitleContainingIgnoreCase(String title);
+    
+    long countByGenre(Book.Genre genre);
+    
     @Query("SELECT b FROM Book b WHERE b.author.name LIKE %:authorName%")
     List<Book> findByAuthorNameContaining(@Param("authorName") String authorName);
     
     @Query("SELECT COUNT(b) FROM Book b WHERE b.author.id = :authorId")
     long countBooksByAuthor(@Param("authorId") Long authorId);
     
-    List<Book> findTop10ByOrderByCreatedAtDesc();
+    @Query("SELECT new com.example.hub.dto.BookSummary(b.id, b.title, b.description, b.genre, b.price, a.id, a.name, b.createdAt) " +
+           "FROM Book b JOIN b.author a ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookSummary> findLatestSummaries(Pageable pageable);
+    
+    @Query("SELECT new com.example.hub.dto.BookSummary(b.id, b.title, b.description, b.genre, b.price, a.id, a.name, b.createdAt) " +
+           "FROM Book b JOIN b.author a WHERE b.genre = :genre ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookSummary> findLatestSummariesByGenre(@Param("genre") Book.Genre genre, Pageable pageable);
+    
+    @Query(value = SELECT_LIST_ITEM, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookListItem> findListItems(Pageable pageable);
+    
+    @Query(SELECT_LIST_ITEM)
+    Slice<BookListItem> findListItemSlice(Pageable pageable);
+    
+    @Query(value = SELECT_LIST_ITEM + " WHERE b.genre = :genre",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE b.genre = :genre")
+    Page<BookListItem> findListItemsByGenre(@Param("genre") Book.Genre genre, Pageable pageable);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE b.genre = :genre")
+    Slice<BookListItem> findListItemSliceByGenre(@Param("genre") Book.Genre genre, Pageable pageable);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE a.id = :authorId ORDER BY b.id")
+    List<BookListItem> findListItemsByAuthorId(@Param("authorId") Long authorId);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE b.id IN :ids")
+    List<BookListItem> findListItemsByIdIn(@Param("ids") List<Long> ids);
+    
+    @Query(SELECT_LIST_ITEM + " WHERE b.title LIKE %:keyword% OR b.description LIKE %:keyword%")
+    List<BookListItem> searchListItemsByKeyword(@Param("keyword") String keyword);
+    
+    @Query(value = SELECT_LIST_ITEM + " WHERE b.price BETWEEN :minPrice AND :maxPrice",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
+    Page<BookListItem> findListItemsByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                                                 @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+    
+    long countByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    
+    /**
+     * Forward-only read of the whole catalog for export. Must be consumed, and closed, inside a
+     * transaction; rows are fetched from the driver in batches of the fetch size.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.hub.dto.BookDetail(b.id, b.title, b.isbn, b.description, b.publicationDate, " +
+           "b.price, b.pageCount, b.genre, b.createdAt, b.updatedAt, a.id, a.name) FROM Book b JOIN b.author a ORDER BY b.id")
+    Stream<BookDetail> streamAllDetails();
+    
+    @Query("SELECT new com.example.hub.dto.BookDetail(b.id, b.title, b.isbn, b.description, b.publicationDate, " +
+           "b.price, b.pageCount, b.genre, b.createdAt, b.updatedAt, a.id, a.name) FROM Book b JOIN b.author a WHERE b.id = :id")
+    Optional<BookDetail> findDetailById(@Param("id") Long id);
     
     boolean existsByIsbn(String isbn);
+    
+    boolean existsByAuthorId(Long authorId);
+    
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+    
+    List<BookTextView> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.genre AS genre, b.price AS price, b.publicationDate AS publicationDate " +
+           "FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<BookFacetView> findFacetsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.price AS price FROM Book b WHERE b.id > :afterId AND b.price IS NOT NULL ORDER BY b.id")
+    List<BookPriceView> findPricesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.isbn AS uniqueKey FROM Book b WHERE b.id > :afterId AND b.isbn IS NOT NULL ORDER BY b.id")
+    List<UniqueKeyView> findIsbnsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.example.hub.repository.projection;
+
+/**
+ * Closed projection with the author columns used for name lookups.
+ */
+public interface AuthorNameView {
+    
+    Long getId();
+    
+    String getName();
+    
+    String getEmail();
+}
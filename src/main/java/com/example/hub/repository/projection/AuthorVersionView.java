@@ -0,0 +1,14 @@
+package com.example.hub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modification stamps that determine an author's representation. The book count is kept
+ * with bulk updates that leave {@code updatedAt} alone, so it is part of the version.
+ */
+public interface AuthorVersionView {
+    
+    LocalDateTime getUpdatedAt();
+    
+    int getBookCount();
+}
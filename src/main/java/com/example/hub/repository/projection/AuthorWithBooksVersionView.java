@@ -0,0 +1,11 @@
+package com.example.hub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link AuthorVersionView} plus the newest modification among the author's books.
+ */
+public interface AuthorWithBooksVersionView extends AuthorVersionView {
+    
+    LocalDateTime getBooksUpdatedAt();
+}
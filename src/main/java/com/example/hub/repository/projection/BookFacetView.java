@@ -0,0 +1,20 @@
+package com.example.hub.repository.projection;
+
+import com.example.hub.entity.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Closed projection with just the columns books are faceted by.
+ */
+public interface BookFacetView {
+    
+    Long getId();
+    
+    Book.Genre getGenre();
+    
+    BigDecimal getPrice();
+    
+    LocalDate getPublicationDate();
+}
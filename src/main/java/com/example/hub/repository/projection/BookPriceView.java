@@ -0,0 +1,13 @@
+package com.example.hub.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed projection with just the columns the price index needs.
+ */
+public interface BookPriceView {
+    
+    Long getId();
+    
+    BigDecimal getPrice();
+}
@@ -0,0 +1,13 @@
+package com.example.hub.repository.projection;
+
+/**
+ * Closed projection with just the columns the full-text index needs.
+ */
+public interface BookTextView {
+    
+    Long getId();
+    
+    String getTitle();
+    
+    String getDescription();
+}
@@ -0,0 +1,13 @@
+package com.example.hub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modification stamps that determine a book's detail representation, which embeds the author's name.
+ */
+public interface BookVersionView {
+    
+    LocalDateTime getUpdatedAt();
+    
+    LocalDateTime getAuthorUpdatedAt();
+}
@@ -0,0 +1,12 @@
+package com.example.hub.repository.projection;
+
+/**
+ * A row id and the value of its unique key (ISBN or email), for rebuilding the
+ * unique key prefilter in id order.
+ */
+public interface UniqueKeyView {
+    
+    Long getId();
+    
+    String getUniqueKey();
+}
@@ -0,0 +1,171 @@
+package com.example.hub.search;
+
+import com.example.hub.dto.AuthorSuggestion;
+import com.example.hub.entity.Author;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.projection.AuthorNameView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index of normalized author names, name words and emails for autocomplete.
+ * <p>
+ * Keys are held in a {@link ConcurrentSkipListMap}, so a prefix lookup is a single range
+ * scan and reads never block. Full-name matches rank ahead of matches on a later word of
+ * the name, which rank ahead of email matches.
+ */
+@Component
+public class AuthorSuggestIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(AuthorSuggestIndex.class);
+    
+    private static final char FULL_NAME = '1';
+    private static final char NAME_WORD = '2';
+    private static final char EMAIL = '3';
+    private static final char[] RANKED_KINDS = {FULL_NAME, NAME_WORD, EMAIL};
+    private static final char ID_SEPARATOR = '\u0000';
+    
+    @Autowired
+    private AuthorRepository authorRepository;
+    
+    @Value("${hub.suggest.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+    
+    private volatile ConcurrentSkipListMap<String, AuthorSuggestion> entries = new ConcurrentSkipListMap<>();
+    private Map<Long, List<String>> keysByAuthor = new HashMap<>();
+    private volatile boolean ready;
+    private List<AuthorChangedEvent> pendingDuringRebuild;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public List<AuthorSuggestion> suggest(String prefix, int limit) {
+        String normalized = String.join(" ", TextAnalyzer.tokenize(prefix));
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        
+        ConcurrentSkipListMap<String, AuthorSuggestion> current = entries;
+        Map<Long, AuthorSuggestion> matches = new LinkedHashMap<>();
+        for (char kind : RANKED_KINDS) {
+            String from = kind + normalized;
+            for (AuthorSuggestion suggestion : current.subMap(from, from + Character.MAX_VALUE).values()) {
+                matches.putIfAbsent(suggestion.getId(), suggestion);
+                if (matches.size() == limit) {
+                    return new ArrayList<>(matches.values());
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorChanged(AuthorChangedEvent event) {
+        apply(entries, keysByAuthor, event);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(event);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        
+        ConcurrentSkipListMap<String, AuthorSuggestion> fresh = new ConcurrentSkipListMap<>();
+        Map<Long, List<String>> freshKeys = new HashMap<>();
+        try {
+            Long lastId = 0L;
+            List<AuthorNameView> batch;
+            do {
+                batch = authorRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, rebuildBatchSize));
+                for (AuthorNameView row : batch) {
+                    put(fresh, freshKeys, new AuthorSuggestion(row.getId(), row.getName(), row.getEmail()));
+                    lastId = row.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            log.error("Author suggest index rebuild failed; suggestions will keep using the database", e);
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            return;
+        }
+        
+        synchronized (this) {
+            for (AuthorChangedEvent event : pendingDuringRebuild) {
+                apply(fresh, freshKeys, event);
+            }
+            pendingDuringRebuild = null;
+            entries = fresh;
+            keysByAuthor = freshKeys;
+            ready = true;
+        }
+        log.info("Author suggest index built with {} authors in {} ms",
+                freshKeys.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private static void apply(ConcurrentSkipListMap<String, AuthorSuggestion> target,
+                              Map<Long, List<String>> keys, AuthorChangedEvent event) {
+        Author author = event.getAuthor();
+        if (event.getType() == EntityChangeType.DELETED) {
+            remove(target, keys, author.getId());
+        } else {
+            put(target, keys, new AuthorSuggestion(author.getId(), author.getName(), author.getEmail()));
+        }
+    }
+    
+    private static void put(ConcurrentSkipListMap<String, AuthorSuggestion> target,
+                            Map<Long, List<String>> keys, AuthorSuggestion suggestion) {
+        remove(target, keys, suggestion.getId());
+        
+        List<String> authorKeys = new ArrayList<>();
+        List<String> words = TextAnalyzer.tokenize(suggestion.getName());
+        if (!words.isEmpty()) {
+            authorKeys.add(key(FULL_NAME, String.join(" ", words), suggestion.getId()));
+            for (int i = 1; i < words.size(); i++) {
+                authorKeys.add(key(NAME_WORD, String.join(" ", words.subList(i, words.size())), suggestion.getId()));
+            }
+        }
+        if (suggestion.getEmail() != null && !suggestion.getEmail().isBlank()) {
+            authorKeys.add(key(EMAIL, String.join(" ", TextAnalyzer.tokenize(suggestion.getEmail())), suggestion.getId()));
+        }
+        
+        for (String key : authorKeys) {
+            target.put(key, suggestion);
+        }
+        keys.put(suggestion.getId(), authorKeys);
+    }
+    
+    private static void remove(ConcurrentSkipListMap<String, AuthorSuggestion> target,
+                               Map<Long, List<String>> keys, Long authorId) {
+        List<String> previous = keys.remove(authorId);
+        if (previous != null) {
+            previous.forEach(target::remove);
+        }
+    }
+    
+    private static String key(char kind, String text, Long id) {
+        return kind + text + ID_SEPARATOR + id;
+    }
+}
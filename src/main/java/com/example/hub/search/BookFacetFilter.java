@@ -0,0 +1,75 @@
+package com.example.hub.search;
+
+import com.example.hub.entity.Book;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A combined book filter: a book matches when it is in any of the selected genres, any of
+ * the selected {@link PriceBands price bands} and any of the selected publication decades.
+ * A dimension with nothing selected does not filter.
+ */
+public class BookFacetFilter {
+    
+    private final Set<Book.Genre> genres;
+    private final Set<Integer> priceBands;
+    private final Set<Integer> decades;
+    
+    public BookFacetFilter(Collection<Book.Genre> genres, Collection<Integer> priceBands, Collection<Integer> decades) {
+        // Empty request parameters bind as null elements
+        this.genres = EnumSet.noneOf(Book.Genre.class);
+        this.priceBands = new TreeSet<>();
+        this.decades = new TreeSet<>();
+        addNonNull(this.genres, genres);
+        addNonNull(this.priceBands, priceBands);
+        addNonNull(this.decades, decades);
+    }
+    
+    public static BookFacetFilter none() {
+        return new BookFacetFilter(null, null, null);
+    }
+    
+    public static BookFacetFilter genre(Book.Genre genre) {
+        return new BookFacetFilter(Collections.singleton(genre), null, null);
+    }
+    
+    /**
+     * The decade a publication date falls in, as its first year: 1990 for 1994.
+     */
+    public static int decadeOf(LocalDate date) {
+        return Math.floorDiv(date.getYear(), 10) * 10;
+    }
+    
+    public Set<Book.Genre> getGenres() {
+        return Collections.unmodifiableSet(genres);
+    }
+    
+    public Set<Integer> getPriceBands() {
+        return Collections.unmodifiableSet(priceBands);
+    }
+    
+    public Set<Integer> getDecades() {
+        return Collections.unmodifiableSet(decades);
+    }
+    
+    public boolean isEmpty() {
+        return genres.isEmpty() && priceBands.isEmpty() && decades.isEmpty();
+    }
+    
+    private static <T> void addNonNull(Set<T> target, Collection<T> values) {
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(target::add);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "genres=" + genres + ",priceBands=" + priceBands + ",decades=" + decades;
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.hub.search;
+
+import com.example.hub.dto.BookFacets;
+import com.example.hub.dto.PriceBucket;
+import com.example.hub.entity.Book;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookFacetView;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of book ids per genre, {@link PriceBands price band} and publication
+ * decade, for combined filters and facet counts without touching the books table.
+ * <p>
+ * A {@link BookFacetFilter} is answered by OR-ing the selected bitmaps of each dimension
+ * and AND-ing the dimensions. Facet counts are intersection cardinalities, so none of the
+ * intermediate sets is built. Built at startup from batches analyzed in parallel, then kept
+ * current from committed {@link BookChangedEvent}s; until then {@link #isReady()} returns
+ * {@code false} and callers should fall back to the database. Book ids must fit in an
+ * {@code int}; a larger one takes the index out of service.
+ */
+@Component
+public class BookFacetIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(BookFacetIndex.class);
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private PriceBands priceBands;
+    
+    @Value("${hub.facets.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps;
+    private volatile boolean ready;
+    private List<BookChangedEvent> pendingDuringRebuild;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Number of books matching the filter.
+     */
+    public long count(BookFacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            Bitmaps current = bitmaps;
+            return cardinality(current, current.genres(filter), current.priceBands(filter), current.decades(filter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * The filter's match count plus, for every genre, price band and decade, the count the
+     * filter would have with only that value selected in its dimension.
+     */
+    public BookFacets facets(BookFacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            Bitmaps current = bitmaps;
+            RoaringBitmap genres = current.genres(filter);
+            RoaringBitmap bands = current.priceBands(filter);
+            RoaringBitmap decades = current.decades(filter);
+            
+            RoaringBitmap otherThanGenre = intersect(current.all, bands, decades);
+            Map<Book.Genre, Long> genreCounts = new EnumMap<>(Book.Genre.class);
+            current.byGenre.forEach((genre, ids) ->
+                    genreCounts.put(genre, (long) RoaringBitmap.andCardinality(ids, otherThanGenre)));
+            
+            RoaringBitmap otherThanBand = intersect(current.all, genres, decades);
+            List<PriceBucket> bandCounts = new ArrayList<>(current.byPriceBand.length);
+            for (int band = 0; band < current.byPriceBand.length; band++) {
+                BigDecimal upper = priceBands.upperBound(band);
+                bandCounts.add(new PriceBucket(priceBands.lowerBound(band),
+                        upper == null ? null : upper.subtract(BigDecimal.valueOf(1, 2)),
+                        RoaringBitmap.andCardinality(current.byPriceBand[band], otherThanBand)));
+            }
+            
+            RoaringBitmap otherThanDecade = intersect(current.all, genres, bands);
+            SortedMap<Integer, Long> decadeCounts = new TreeMap<>();
+            current.byDecade.forEach((decade, ids) ->
+                    decadeCounts.put(decade, (long) RoaringBitmap.andCardinality(ids, otherThanDecade)));
+            
+            return new BookFacets(cardinality(current, genres, bands, decades), genreCounts, bandCounts, decadeCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (bitmaps != null) {
+                apply(bitmaps, event);
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } catch (ArithmeticException e) {
+            ready = false;
+            log.error("Book id {} does not fit the facet index; facets will keep using the database", event.getBookId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        Bitmaps fresh = new Bitmaps(priceBands.size());
+        try {
+            List<CompletableFuture<Bitmaps>> batches = new ArrayList<>();
+            Long lastId = 0L;
+            List<BookFacetView> batch;
+            do {
+                batch = bookRepository.findFacetsAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (!batch.isEmpty()) {
+                    List<BookFacetView> rows = batch;
+                    batches.add(CompletableFuture.supplyAsync(() -> analyze(rows)));
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            
+            for (CompletableFuture<Bitmaps> analyzed : batches) {
+                fresh.addAll(analyzed.join());
+            }
+        } catch (RuntimeException e) {
+            log.error("Book facet index rebuild failed; filters will keep using the database", e);
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        fresh.compact();
+        
+        lock.writeLock().lock();
+        try {
+            for (BookChangedEvent event : pendingDuringRebuild) {
+                apply(fresh, event);
+            }
+            pendingDuringRebuild = null;
+            bitmaps = fresh;
+            ready = true;
+        } catch (ArithmeticException e) {
+            pendingDuringRebuild = null;
+            log.error("A book id does not fit the facet index; facets will keep using the database", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book facet index built with {} books in {} ms",
+                fresh.all.getLongCardinality(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private Bitmaps analyze(List<BookFacetView> rows) {
+        Bitmaps partial = new Bitmaps(priceBands.size());
+        for (BookFacetView row : rows) {
+            partial.add(Math.toIntExact(row.getId()), row.getGenre(), row.getPrice(), row.getPublicationDate());
+        }
+        return partial;
+    }
+    
+    private void apply(Bitmaps target, BookChangedEvent event) {
+        int id = Math.toIntExact(event.getBookId());
+        target.remove(id);
+        if (event.getType() != EntityChangeType.DELETED) {
+            Book book = event.getBook();
+            target.add(id, book.getGenre(), book.getPrice(), book.getPublicationDate());
+        }
+    }
+    
+    private static long cardinality(Bitmaps current, RoaringBitmap... selections) {
+        RoaringBitmap matches = intersect(current.all, selections);
+        return matches.getLongCardinality();
+    }
+    
+    /**
+     * AND of the selections that filter, or {@code all} when none does. The result may be
+     * one of the inputs and must not be modified.
+     */
+    private static RoaringBitmap intersect(RoaringBitmap all, RoaringBitmap... selections) {
+        RoaringBitmap result = null;
+        for (RoaringBitmap selection : selections) {
+            if (selection != null) {
+                result = result == null ? selection : RoaringBitmap.and(result, selection);
+            }
+        }
+        return result == null ? all : result;
+    }
+    
+    private final class Bitmaps {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<Book.Genre, RoaringBitmap> byGenre = new EnumMap<>(Book.Genre.class);
+        private final RoaringBitmap[] byPriceBand;
+        private final SortedMap<Integer, RoaringBitmap> byDecade = new TreeMap<>();
+        
+        private Bitmaps(int bands) {
+            for (Book.Genre genre : Book.Genre.values()) {
+                byGenre.put(genre, new RoaringBitmap());
+            }
+            byPriceBand = new RoaringBitmap[bands];
+            for (int band = 0; band < bands; band++) {
+                byPriceBand[band] = new RoaringBitmap();
+            }
+        }
+        
+        private void add(int id, Book.Genre genre, BigDecimal price, LocalDate publicationDate) {
+            all.add(id);
+            if (genre != null) {
+                byGenre.get(genre).add(id);
+            }
+            if (price != null) {
+                byPriceBand[priceBands.bandOf(price)].add(id);
+            }
+            if (publicationDate != null) {
+                byDecade.computeIfAbsent(BookFacetFilter.decadeOf(publicationDate), decade -> new RoaringBitmap())
+                        .add(id);
+            }
+        }
+        
+        private void remove(int id) {
+            if (!all.checkedRemove(id)) {
+                return;
+            }
+            byGenre.values().forEach(ids -> ids.remove(id));
+            for (RoaringBitmap ids : byPriceBand) {
+                ids.remove(id);
+            }
+            byDecade.values().forEach(ids -> ids.remove(id));
+        }
+        
+        private void addAll(Bitmaps other) {
+            all.or(other.all);
+            byGenre.forEach((genre, ids) -> ids.or(other.byGenre.get(genre)));
+            for (int band = 0; band < byPriceBand.length; band++) {
+                byPriceBand[band].or(other.byPriceBand[band]);
+            }
+            other.byDecade.forEach((decade, ids) ->
+                    byDecade.computeIfAbsent(decade, key -> new RoaringBitmap()).or(ids));
+        }
+        
+        private void compact() {
+            all.runOptimize();
+            byGenre.values().forEach(RoaringBitmap::runOptimize);
+            for (RoaringBitmap ids : byPriceBand) {
+                ids.runOptimize();
+            }
+            byDecade.values().forEach(RoaringBitmap::runOptimize);
+        }
+        
+        /**
+         * Union of the selected genres, or {@code null} when the filter selects none.
+         */
+        private RoaringBitmap genres(BookFacetFilter filter) {
+            return union(filter.getGenres().stream().map(byGenre::get).toList());
+        }
+        
+        private RoaringBitmap priceBands(BookFacetFilter filter) {
+            return union(filter.getPriceBands().stream()
+                    .map(band -> band >= 0 && band < byPriceBand.length ? byPriceBand[band] : new RoaringBitmap())
+                    .toList());
+        }
+        
+        private RoaringBitmap decades(BookFacetFilter filter) {
+            return union(filter.getDecades().stream()
+                    .map(decade -> byDecade.getOrDefault(decade, new RoaringBitmap()))
+                    .toList());
+        }
+        
+        private RoaringBitmap union(Collection<RoaringBitmap> selected) {
+            return selected.isEmpty() ? null : FastAggregation.or(selected.iterator());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.hub.search;
+
+import com.example.hub.entity.Book;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookTextView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory BM25 full-text index over book titles and descriptions.
+ * <p>
+ * Built at startup by analyzing batches of books in parallel, then kept current from
+ * committed {@link BookChangedEvent}s. Until the first build completes {@link #isReady()}
+ * returns {@code false} and callers should fall back to the database.
+ */
+@Component
+public class BookSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+    
+    private static final int TITLE_WEIGHT = 2;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Value("${hub.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    private List<BookChangedEvent> pendingDuringRebuild;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            List<CompletableFuture<Map<Long, Map<String, Integer>>>> batches = new ArrayList<>();
+            Long lastId = 0L;
+            List<BookTextView> batch;
+            do {
+                batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (!batch.isEmpty()) {
+                    List<BookTextView> rows = batch;
+                    batches.add(CompletableFuture.supplyAsync(() -> analyze(rows)));
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            
+            for (CompletableFuture<Map<Long, Map<String, Integer>>> analyzed : batches) {
+                analyzed.join().forEach(fresh::put);
+            }
+        } catch (RuntimeException e) {
+            log.error("Book search index rebuild failed; searches will keep using the database", e);
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            for (BookChangedEvent event : pendingDuringRebuild) {
+                apply(fresh, event);
+            }
+            pendingDuringRebuild = null;
+            index = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book search index built with {} documents in {} ms",
+                fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private static Map<Long, Map<String, Integer>> analyze(List<BookTextView> rows) {
+        Map<Long, Map<String, Integer>> documents = new HashMap<>(rows.size() * 2);
+        for (BookTextView row : rows) {
+            documents.put(row.getId(), termFrequencies(row.getTitle(), row.getDescription()));
+        }
+        return documents;
+    }
+    
+    private static void apply(InvertedIndex target, BookChangedEvent event) {
+        if (event.getType() == EntityChangeType.DELETED) {
+            target.remove(event.getBookId());
+        } else {
+            Book book = event.getBook();
+            target.put(book.getId(), termFrequencies(book.getTitle(), book.getDescription()));
+        }
+    }
+    
+    static Map<String, Integer> termFrequencies(String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : TextAnalyzer.tokenize(title)) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : TextAnalyzer.tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.hub.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Term -> postings map with Okapi BM25 scoring. Not thread-safe; {@link BookSearchIndex}
+ * guards every instance with a read/write lock.
+ */
+class InvertedIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+    
+    void put(Long docId, Map<String, Integer> termFrequencies) {
+        remove(docId);
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(docId, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(docId, termFrequencies);
+        lengths.put(docId, length);
+        totalLength += length;
+    }
+    
+    void remove(Long docId) {
+        Map<String, Integer> previous = documents.remove(docId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= lengths.remove(docId);
+        for (Map.Entry<String, Integer> entry : previous.entrySet()) {
+            Map<Long, Integer> docs = postings.get(entry.getKey());
+            if (docs != null) {
+                docs.remove(docId);
+                if (docs.isEmpty()) {
+                    postings.remove(entry.getKey());
+                }
+            }
+        }
+    }
+    
+    int size() {
+        return documents.size();
+    }
+    
+    /**
+     * Returns the ids of documents matching every query term, best BM25 score first.
+     * A term without an exact match is expanded to indexed terms sharing it as a prefix.
+     */
+    List<Long> search(List<String> queryTerms, int limit) {
+        if (queryTerms.isEmpty() || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        double averageLength = (double) totalLength / documents.size();
+        Map<Long, Double> scores = null;
+        
+        for (String term : queryTerms) {
+            Map<Long, Double> termScores = scoreTerm(term, averageLength);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((docId, score) -> score + termScores.get(docId));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+    
+    private Map<Long, Double> scoreTerm(String term, double averageLength) {
+        Map<Long, Double> termScores = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            accumulate(exact, averageLength, termScores);
+            return termScores;
+        }
+        SortedMap<String, Map<Long, Integer>> expansions = postings.subMap(term, term + Character.MAX_VALUE);
+        int expanded = 0;
+        for (Map<Long, Integer> docs : expansions.values()) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            accumulate(docs, averageLength, termScores);
+        }
+        return termScores;
+    }
+    
+    private void accumulate(Map<Long, Integer> docs, double averageLength, Map<Long, Double> termScores) {
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+        for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+            double tf = posting.getValue();
+            double length = lengths.get(posting.getKey());
+            double score = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / averageLength));
+            termScores.merge(posting.getKey(), score, Math::max);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hub.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * The price bands books are faceted by, cut at {@code hub.facets.price-bands}. Band 0 holds
+ * everything below the first cut and the last band everything from the last cut up; each
+ * band includes its lower bound and excludes its upper one.
+ */
+@Component
+public class PriceBands {
+    
+    private final BigDecimal[] cuts;
+    
+    public PriceBands(@Value("${hub.facets.price-bands:5,10,15,20,30,50}") BigDecimal[] cuts) {
+        this.cuts = cuts.clone();
+        Arrays.sort(this.cuts);
+    }
+    
+    public int size() {
+        return cuts.length + 1;
+    }
+    
+    public int bandOf(BigDecimal price) {
+        int band = 0;
+        while (band < cuts.length && price.compareTo(cuts[band]) >= 0) {
+            band++;
+        }
+        return band;
+    }
+    
+    /**
+     * Inclusive lower bound of the band, or {@code null} for the first band.
+     */
+    public BigDecimal lowerBound(int band) {
+        return band == 0 ? null : cuts[band - 1];
+    }
+    
+    /**
+     * Exclusive upper bound of the band, or {@code null} for the last band.
+     */
+    public BigDecimal upperBound(int band) {
+        return band == cuts.length ? null : cuts[band];
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.hub.search;
+
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookPriceView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of book prices as whole cents, for price-range browsing without touching
+ * the books table.
+ * <p>
+ * Books are held twice as {@link SortedLongPairs}: by price then id, which answers range
+ * counts, range slices and histogram buckets with binary searches, and by id, which finds a
+ * book's old price when it changes. Books without a price are not indexed. Built at startup
+ * and kept current from committed {@link BookChangedEvent}s; until then {@link #isReady()}
+ * is {@code false} and callers should fall back to the database.
+ */
+@Component
+public class PriceIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(PriceIndex.class);
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Value("${hub.price-index.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private SortedLongPairs byPrice = new SortedLongPairs();
+    private SortedLongPairs byBook = new SortedLongPairs();
+    private volatile boolean ready;
+    private List<BookChangedEvent> pendingDuringRebuild;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Converts a price to cents, rounding fractions of a cent with {@code rounding}.
+     */
+    public static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+    
+    /**
+     * Books priced from {@code minCents} to {@code maxCents}, both inclusive.
+     */
+    public long count(long minCents, long maxCents) {
+        if (minCents > maxCents) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return byPrice.countAtMost(maxCents) - byPrice.countBelow(minCents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Ids of up to {@code limit} books in the price range, skipping the first {@code offset},
+     * ordered by price and then id, or the reverse when {@code descending}.
+     */
+    public long[] slice(long minCents, long maxCents, long offset, int limit, boolean descending) {
+        if (minCents > maxCents || limit <= 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            int first = byPrice.countBelow(minCents);
+            int end = byPrice.countAtMost(maxCents);
+            int length = (int) Math.max(0, Math.min(limit, end - first - offset));
+            long[] ids = new long[length];
+            for (int i = 0; i < length; i++) {
+                ids[i] = byPrice.valueAt(descending ? (int) (end - 1 - offset - i) : (int) (first + offset + i));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Book counts for consecutive price bands of {@code bucketWidthCents} from
+     * {@code minCents}; the last band is cut off at {@code maxCents}.
+     */
+    public long[] histogram(long minCents, long maxCents, long bucketWidthCents) {
+        if (minCents > maxCents) {
+            return new long[0];
+        }
+        int buckets = (int) ((maxCents - minCents) / bucketWidthCents + 1);
+        long[] counts = new long[buckets];
+        lock.readLock().lock();
+        try {
+            int below = byPrice.countBelow(minCents);
+            for (int i = 0; i < buckets; i++) {
+                long upper = i == buckets - 1 ? maxCents : minCents + (i + 1) * bucketWidthCents - 1;
+                int atMost = byPrice.countAtMost(upper);
+                counts[i] = atMost - below;
+                below = atMost;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(byPrice, byBook, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        long[] ids = new long[Math.max(16, rebuildBatchSize)];
+        long[] cents = new long[ids.length];
+        int count = 0;
+        try {
+            Long lastId = 0L;
+            List<BookPriceView> batch;
+            do {
+                batch = bookRepository.findPricesAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (count + batch.size() > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + batch.size()));
+                    cents = Arrays.copyOf(cents, ids.length);
+                }
+                for (BookPriceView row : batch) {
+                    ids[count] = row.getId();
+                    cents[count] = toCents(row.getPrice(), RoundingMode.HALF_UP);
+                    count++;
+                    lastId = row.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            log.error("Price index rebuild failed; price ranges will keep using the database", e);
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        
+        // Rows arrive in id order, so the by-book view needs no sort
+        SortedLongPairs freshByBook = SortedLongPairs.ofSorted(ids, cents, count);
+        SortedLongPairs freshByPrice = SortedLongPairs.of(Arrays.copyOf(cents, count), Arrays.copyOf(ids, count), count);
+        
+        lock.writeLock().lock();
+        try {
+            for (BookChangedEvent event : pendingDuringRebuild) {
+                apply(freshByPrice, freshByBook, event);
+            }
+            pendingDuringRebuild = null;
+            byPrice = freshByPrice;
+            byBook = freshByBook;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Price index built with {} books in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private static void apply(SortedLongPairs prices, SortedLongPairs books, BookChangedEvent event) {
+        long id = event.getBookId();
+        int rank = books.countBelow(id);
+        if (rank < books.size() && books.keyAt(rank) == id) {
+            long oldCents = books.valueAt(rank);
+            books.remove(id, oldCents);
+            prices.remove(oldCents, id);
+        }
+        BigDecimal price = event.getBook().getPrice();
+        if (event.getType() != EntityChangeType.DELETED && price != null) {
+            long newCents = toCents(price, RoundingMode.HALF_UP);
+            books.insert(id, newCents);
+            prices.insert(newCents, id);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.hub.search;
+
+import java.util.Arrays;
+
+/**
+ * Multiset of {@code (key, value)} pairs of primitive longs kept sorted by key, then value.
+ * <p>
+ * Pairs live in parallel arrays split into blocks of at most {@link #MAX_BLOCK}, with the
+ * rank of each block's first pair kept alongside. Ranking a key or reading the pair at a rank
+ * is a binary search over the blocks and then within one; an insert or removal shifts one
+ * block and the block ranks after it, instead of the whole array. Not thread-safe.
+ */
+final class SortedLongPairs {
+    
+    static final int MAX_BLOCK = 1024;
+    
+    // Blocks built in bulk are left partly empty so the first inserts do not split them
+    private static final int BULK_FILL = MAX_BLOCK - MAX_BLOCK / 8;
+    
+    private long[][] keys = new long[0][];
+    private long[][] values = new long[0][];
+    private int[] sizes = new int[0];
+    private int[] starts = new int[0];
+    private int blocks;
+    private int size;
+    
+    /**
+     * Builds from {@code count} pairs already in key, then value, order.
+     */
+    static SortedLongPairs ofSorted(long[] keys, long[] values, int count) {
+        SortedLongPairs pairs = new SortedLongPairs();
+        for (int from = 0; from < count; from += BULK_FILL) {
+            int length = Math.min(BULK_FILL, count - from);
+            pairs.insertBlock(pairs.blocks);
+            int block = pairs.blocks - 1;
+            System.arraycopy(keys, from, pairs.keys[block], 0, length);
+            System.arraycopy(values, from, pairs.values[block], 0, length);
+            pairs.sizes[block] = length;
+            pairs.starts[block] = from;
+        }
+        pairs.size = count;
+        return pairs;
+    }
+    
+    /**
+     * Builds from {@code count} pairs in any order; the arrays are sorted in place.
+     */
+    static SortedLongPairs of(long[] keys, long[] values, int count) {
+        sort(keys, values, count);
+        return ofSorted(keys, values, count);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Number of pairs whose key is below {@code key}, which is also the rank of the first
+     * pair with a key of at least {@code key}.
+     */
+    int countBelow(long key) {
+        int block = firstBlockEndingAtOrAfter(key, Long.MIN_VALUE);
+        return block == blocks ? size : starts[block] + lowerBound(block, key, Long.MIN_VALUE);
+    }
+    
+    /**
+     * Number of pairs whose key is at most {@code key}.
+     */
+    int countAtMost(long key) {
+        return key == Long.MAX_VALUE ? size : countBelow(key + 1);
+    }
+    
+    long keyAt(int rank) {
+        int block = blockAt(rank);
+        return keys[block][rank - starts[block]];
+    }
+    
+    long valueAt(int rank) {
+        int block = blockAt(rank);
+        return values[block][rank - starts[block]];
+    }
+    
+    void insert(long key, long value) {
+        if (blocks == 0) {
+            // The block searches below assume no block is empty
+            insertBlock(0);
+            keys[0][0] = key;
+            values[0][0] = value;
+            sizes[0] = 1;
+            size = 1;
+            return;
+        }
+        int block = Math.min(firstBlockEndingAtOrAfter(key, value), blocks - 1);
+        int position = lowerBound(block, key, value);
+        int length = sizes[block];
+        System.arraycopy(keys[block], position, keys[block], position + 1, length - position);
+        System.arraycopy(values[block], position, values[block], position + 1, length - position);
+        keys[block][position] = key;
+        values[block][position] = value;
+        sizes[block]++;
+        size++;
+        for (int i = block + 1; i < blocks; i++) {
+            starts[i]++;
+        }
+        if (sizes[block] == MAX_BLOCK) {
+            split(block);
+        }
+    }
+    
+    /**
+     * Removes one occurrence of the pair; returns {@code false} if it was not present.
+     */
+    boolean remove(long key, long value) {
+        int block = firstBlockEndingAtOrAfter(key, value);
+        if (block == blocks) {
+            return false;
+        }
+        int position = lowerBound(block, key, value);
+        int length = sizes[block];
+        if (position == length || keys[block][position] != key || values[block][position] != value) {
+            return false;
+        }
+        System.arraycopy(keys[block], position + 1, keys[block], position, length - position - 1);
+        System.arraycopy(values[block], position + 1, values[block], position, length - position - 1);
+        sizes[block]--;
+        size--;
+        for (int i = block + 1; i < blocks; i++) {
+            starts[i]--;
+        }
+        if (sizes[block] == 0) {
+            removeBlock(block);
+        }
+        return true;
+    }
+    
+    private static int compare(long key, long value, long otherKey, long otherValue) {
+        int byKey = Long.compare(key, otherKey);
+        return byKey != 0 ? byKey : Long.compare(value, otherValue);
+    }
+    
+    /**
+     * The first block whose last pair is not before {@code (key, value)}, or {@code blocks}.
+     */
+    private int firstBlockEndingAtOrAfter(long key, long value) {
+        int low = 0;
+        int high = blocks;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int last = sizes[middle] - 1;
+            if (compare(keys[middle][last], values[middle][last], key, value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private int lowerBound(int block, long key, long value) {
+        long[] blockKeys = keys[block];
+        long[] blockValues = values[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(blockKeys[middle], blockValues[middle], key, value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private int blockAt(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " outside 0.." + size);
+        }
+        int low = 0;
+        int high = blocks - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= rank) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+    
+    private void split(int block) {
+        insertBlock(block + 1);
+        int keep = sizes[block] / 2;
+        int move = sizes[block] - keep;
+        System.arraycopy(keys[block], keep, keys[block + 1], 0, move);
+        System.arraycopy(values[block], keep, values[block + 1], 0, move);
+        sizes[block] = keep;
+        sizes[block + 1] = move;
+        starts[block + 1] = starts[block] + keep;
+    }
+    
+    /**
+     * Opens an empty block at {@code index}; the caller fills in its size and start.
+     */
+    private void insertBlock(int index) {
+        if (blocks == sizes.length) {
+            int capacity = Math.max(4, blocks * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+        }
+        int after = blocks - index;
+        System.arraycopy(keys, index, keys, index + 1, after);
+        System.arraycopy(values, index, values, index + 1, after);
+        System.arraycopy(sizes, index, sizes, index + 1, after);
+        System.arraycopy(starts, index, starts, index + 1, after);
+        keys[index] = new long[MAX_BLOCK];
+        values[index] = new long[MAX_BLOCK];
+        sizes[index] = 0;
+        starts[index] = index == blocks ? size : starts[index + 1];
+        blocks++;
+    }
+    
+    private void removeBlock(int index) {
+        int after = blocks - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, after);
+        System.arraycopy(values, index + 1, values, index, after);
+        System.arraycopy(sizes, index + 1, sizes, index, after);
+        System.arraycopy(starts, index + 1, starts, index, after);
+        blocks--;
+        keys[blocks] = null;
+        values[blocks] = null;
+    }
+    
+    /**
+     * Bottom-up merge sort of the parallel arrays by key, then value.
+     */
+    private static void sort(long[] keys, long[] values, int count) {
+        long[] fromKeys = keys;
+        long[] fromValues = values;
+        long[] toKeys = new long[count];
+        long[] toValues = new long[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count; low += 2 * width) {
+                int middle = Math.min(low + width, count);
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = middle;
+                for (int out = low; out < high; out++) {
+                    if (left < middle && (right >= high
+                            || compare(fromKeys[left], fromValues[left], fromKeys[right], fromValues[right]) <= 0)) {
+                        toKeys[out] = fromKeys[left];
+                        toValues[out] = fromValues[left++];
+                    } else {
+                        toKeys[out] = fromKeys[right];
+                        toValues[out] = fromValues[right++];
+                    }
+                }
+            }
+            long[] swapKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = swapKeys;
+            long[] swapValues = fromValues;
+            fromValues = toValues;
+            toValues = swapValues;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, count);
+            System.arraycopy(fromValues, 0, values, 0, count);
+        }
+    }
+}
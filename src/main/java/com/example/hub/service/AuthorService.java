@@ -1,24 +1,86 @@
 package com.example.hub.service;
 
+import com.example.hub.cache.AuthorDirectory;
+import com.example.hub.cache.EntityCaches;
+import com.example.hub.cache.UniqueKeyIndex;
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.dto.AuthorListItem;
+import com.example.hub.dto.AuthorOption;
+import com.example.hub.dto.AuthorSuggestion;
 import com.example.hub.entity.Author;
+import com.example.hub.event.AuthorBookCountChangedEvent;
 import com.example.hub.exception.ResourceNotFoundException;
+import com.example.hub.exception.UniqueConstraints;
+import com.example.hub.http.ResourceVersion;
+import com.example.hub.pagination.CursorPage;
+import com.example.hub.pagination.KeysetPaginator;
+import com.example.hub.pagination.KeysetSpec;
+import com.example.hub.pagination.SeekField;
+import com.example.hub.pagination.TotalCountCache;
 import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.AuthorVersionView;
+import com.example.hub.repository.projection.AuthorWithBooksVersionView;
+import com.example.hub.search.AuthorSuggestIndex;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "hub.service", histogram = true)
 public class AuthorService {
     
+    private static final KeysetSpec<Author> AUTHOR_KEYSET = new KeysetSpec<>(Author.class, Author::getId, List.of(
+            SeekField.ofString("name", Author::getName),
+            SeekField.ofDateTime("createdAt", Author::getCreatedAt)));
+    
     @Autowired
     private AuthorRepository authorRepository;
     
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private AuthorSuggestIndex authorSuggestIndex;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private TotalCountCache totalCountCache;
+    
+    @Autowired
+    private EntityCaches entityCaches;
+    
+    @Autowired
+    private AuthorDirectory authorDirectory;
+    
+    @Autowired
+    private UniqueKeyIndex uniqueKeyIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${hub.author-picker.initial-size:50}")
+    private int pickerInitialSize;
+    
     @Transactional(readOnly = true)
     public List<Author> getAllAuthors() {
         return authorRepository.findAll();
@@ -29,6 +91,22 @@ public class AuthorService {
         return authorRepository.findAll(pageable);
     }
     
+    @Transactional(readOnly = true)
+    public Slice<Author> getAllAuthorsSlice(Pageable pageable) {
+        return authorRepository.findAllBy(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Author> getAllAuthorsWithCachedTotal(Pageable pageable) {
+        return totalCountCache.toPage(authorRepository.findAllBy(pageable),
+                TotalCountCache.AUTHORS, "all", authorRepository::count);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Author> getAuthorsAfter(String cursor, String sortBy, String sortDir, int size) {
+        return keysetPaginator.fetch(AUTHOR_KEYSET, sortBy, sortDir, cursor, size, Collections.emptyMap());
+    }
+    
     @Transactional(readOnly = true)
     public Author getAuthorById(Long id) {
         return authorRepository.findById(id)
@@ -56,28 +134,72 @@ public class AuthorService {
         return authorRepository.findByNameContainingIgnoreCase(name, pageable);
     }
     
+    @Transactional(readOnly = true)
+    public Page<Author> searchAuthorsByNameWithCachedTotal(String name, Pageable pageable) {
+        return totalCountCache.toPage(authorRepository.findSliceByNameContainingIgnoreCase(name, pageable),
+                TotalCountCache.AUTHORS, "name=" + name.toLowerCase(Locale.ROOT),
+                () -> authorRepository.countByNameContainingIgnoreCase(name));
+    }
+    
+    /**
+     * Authors whose name or email starts with {@code prefix}; none for a blank prefix or a
+     * limit below one, whether or not the suggest index is ready.
+     */
+    @Transactional(readOnly = true)
+    public List<AuthorSuggestion> suggestAuthors(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (authorSuggestIndex.isReady()) {
+            return authorSuggestIndex.suggest(prefix, limit);
+        }
+        return authorRepository.findByNameStartingWithIgnoreCaseOrderByNameAsc(prefix.trim(), PageRequest.of(0, limit))
+                .stream()
+                .map(view -> new AuthorSuggestion(view.getId(), view.getName(), view.getEmail()))
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<AuthorOption> getAuthorOptions(String query, Pageable pageable) {
+        return authorDirectory.search(query, pageable);
+    }
+    
+    /**
+     * First page of the author picker, plus the currently selected author if it falls outside
+     * that page; the form pulls further options from the typeahead API.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<AuthorOption> getAuthorPickerOptions(Long selectedAuthorId) {
+        List<AuthorOption> options = new ArrayList<>(
+                authorDirectory.search(null, PageRequest.of(0, pickerInitialSize)).getContent());
+        if (selectedAuthorId != null && options.stream().noneMatch(option -> option.getId().equals(selectedAuthorId))) {
+            AuthorOption selected = authorDirectory.find(selectedAuthorId);
+            if (selected != null) {
+                options.add(0, selected);
+            }
+        }
+        return options;
+    }
+    
     public Author createAuthor(Author author) {
-        validateAuthorEmail(author.getEmail(), null);
-        return authorRepository.save(author);
+        return saveUnique(author);
     }
     
     public Author updateAuthor(Long id, Author authorDetails) {
         Author existingAuthor = getAuthorById(id);
         
-        validateAuthorEmail(authorDetails.getEmail(), id);
-        
         existingAuthor.setName(authorDetails.getName());
         existingAuthor.setEmail(authorDetails.getEmail());
         existingAuthor.setBio(authorDetails.getBio());
         
-        return authorRepository.save(existingAuthor);
+        return saveUnique(existingAuthor);
     }
     
     public void deleteAuthor(Long id) {
         Author author = getAuthorById(id);
         
-        // Check if author has books
-        if (!author.getBooks().isEmpty()) {
+        // Check if author has books; not book_count, which is only right once it has been backfilled
+        if (bookRepository.existsByAuthorId(id)) {
             throw new IllegalStateException("Cannot delete author with existing books. Please remove all books first.");
         }
         
@@ -86,26 +208,122 @@ public class AuthorService {
     
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return authorRepository.existsByEmail(email);
+        return uniqueKeyIndex.exists(UniqueKeyIndex.Key.EMAIL, email, authorRepository::existsByEmail);
     }
     
     @Transactional(readOnly = true)
     public long getTotalAuthorsCount() {
-        return authorRepository.countAllAuthors();
+        return totalCountCache.getTotal(TotalCountCache.AUTHORS, "all", authorRepository::count);
     }
     
+    /**
+     * Reads the maintained {@code book_count} column, most prolific first.
+     */
     @Transactional(readOnly = true)
     public List<Author> getAuthorsWithMoreThanBooks(int bookCount) {
-        return authorRepository.findAuthorsWithMoreThanBooks(bookCount);
+        return authorRepository.findByBookCountGreaterThanOrderByBookCountDescIdAsc(bookCount);
+    }
+    
+    // Read-only projections for the REST API: only the returned columns, no books loaded
+    
+    @Transactional(readOnly = true)
+    public Page<AuthorListItem> getAllAuthorItems(Pageable pageable) {
+        return authorRepository.findListItems(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Slice<AuthorListItem> getAllAuthorItemsSlice(Pageable pageable) {
+        return authorRepository.findListItemSlice(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorListItem> getAuthorItemsAfter(String cursor, String sortBy, String sortDir, int size) {
+        return getAuthorsAfter(cursor, sortBy, sortDir, size).map(AuthorListItem::from);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AuthorListItem> searchAuthorItems(String keyword) {
+        return authorRepository.searchListItemsByKeyword(keyword);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AuthorListItem> getAuthorItemsWithMoreThanBooks(int bookCount) {
+        return authorRepository.findListItemsWithMoreThanBooks(bookCount);
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getAuthorVersion(Long id) {
+        AuthorVersionView version = authorRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+        return ResourceVersion.of("author:" + id + ':' + version.getUpdatedAt() + ':' + version.getBookCount(),
+                ResourceVersion.latest(version.getUpdatedAt()));
+    }
+    
+    /**
+     * Covers the author's books too: an added or edited book moves the newest book stamp and
+     * a removed one changes the book count.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAuthorWithBooksVersion(Long id) {
+        AuthorWithBooksVersionView version = authorRepository.findWithBooksVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+        return ResourceVersion.of("author-with-books:" + id + ':' + version.getUpdatedAt() + ':'
+                        + version.getBookCount() + ':' + version.getBooksUpdatedAt(),
+                ResourceVersion.latest(version.getUpdatedAt(), version.getBooksUpdatedAt()));
+    }
+    
+    /**
+     * Served from the detail cache, so a hit costs no query at all.
+     */
+    @Transactional(readOnly = true)
+    public AuthorDetail getAuthorDetail(Long id) {
+        AuthorDetail author = entityCaches.authorDetails().get(id,
+                () -> authorRepository.findDetailById(id).orElse(null));
+        if (author == null) {
+            throw new ResourceNotFoundException("Author not found with id: " + id);
+        }
+        return author;
+    }
+    
+    @Transactional(readOnly = true)
+    public AuthorDetail getAuthorDetailWithBooks(Long id) {
+        return getAuthorDetail(id).withBooks(bookRepository.findListItemsByAuthorId(id));
+    }
+    
+    /**
+     * Atomically adds {@code delta} to the author's book count within the current transaction.
+     * Called by {@link BookService} whenever a book is created, deleted or moved to another author.
+     */
+    public void adjustBookCount(Long authorId, int delta) {
+        if (authorId == null || delta == 0) {
+            return;
+        }
+        authorRepository.adjustBookCount(authorId, delta);
+        eventPublisher.publishEvent(new AuthorBookCountChangedEvent(authorId, delta));
+    }
+    
+    /**
+     * Recomputes every author's book count from the books table, e.g. after the column was
+     * first added or data was changed outside the application.
+     */
+    public int recountBooks() {
+        int updated = authorRepository.recountBooks();
+        eventPublisher.publishEvent(AuthorBookCountChangedEvent.allAuthors());
+        return updated;
     }
     
-    private void validateAuthorEmail(String email, Long currentAuthorId) {
-        if (email != null && !email.trim().isEmpty()) {
-            Optional<Author> existingAuthor = authorRepository.findByEmail(email);
-            if (existingAuthor.isPresent() && 
-                (currentAuthorId == null || !existingAuthor.get().getId().equals(currentAuthorId))) {
-                throw new IllegalArgumentException("An author with this email already exists");
+    /**
+     * Writes the author in one round trip; the email unique constraint rejects duplicates.
+     */
+    private Author saveUnique(Author author) {
+        uniqueKeyIndex.add(UniqueKeyIndex.Key.EMAIL, author.getEmail());
+        try {
+            return authorRepository.saveAndFlush(author);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraints.isViolation(e, Author.EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("An author with this email already exists", e);
             }
+            throw e;
         }
     }
 }
@@ -0,0 +1,33 @@
+package com.example.hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the maintained author book counts at startup when
+ * {@code hub.counters.recount-on-startup} is set. Afterwards {@link BookService} keeps them
+ * in sync on every book write.
+ */
+@Component
+public class BookCountReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(BookCountReconciler.class);
+    
+    @Autowired
+    private AuthorService authorService;
+    
+    @Value("${hub.counters.recount-on-startup:false}")
+    private boolean recountOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        if (recountOnStartup) {
+            log.info("Recounted books for {} authors", authorService.recountBooks());
+        }
+    }
+}
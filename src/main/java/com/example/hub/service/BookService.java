@@ -1,28 +1,104 @@
 package com.example.hub.service;
 
+import com.example.hub.cache.EntityCaches;
+import com.example.hub.cache.UniqueKeyIndex;
+import com.example.hub.dto.BookDetail;
+import com.example.hub.dto.BookFacets;
+import com.example.hub.dto.BookListItem;
+import com.example.hub.dto.BookSummary;
+import com.example.hub.dto.PriceBucket;
+import com.example.hub.entity.Author;
 import com.example.hub.entity.Book;
+import com.example.hub.feed.LatestBooksFeed;
 import com.example.hub.exception.ResourceNotFoundException;
+import com.example.hub.exception.UniqueConstraints;
+import com.example.hub.http.ResourceVersion;
+import com.example.hub.pagination.CursorPage;
+import com.example.hub.pagination.KeysetPaginator;
+import com.example.hub.pagination.KeysetSpec;
+import com.example.hub.pagination.SeekField;
+import com.example.hub.pagination.TotalCountCache;
 import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookVersionView;
+import com.example.hub.search.BookFacetFilter;
+import com.example.hub.search.BookFacetIndex;
+import com.example.hub.search.BookSearchIndex;
+import com.example.hub.search.PriceIndex;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "hub.service", histogram = true)
 public class BookService {
     
+    private static final KeysetSpec<Book> BOOK_KEYSET = new KeysetSpec<>(Book.class, Book::getId, List.of(
+            SeekField.ofString("title", Book::getTitle),
+            SeekField.ofDateTime("createdAt", Book::getCreatedAt),
+            SeekField.ofDecimal("price", Book::getPrice))).fetching("author");
+    
+    // The most a numeric(10, 2) price column holds
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    
     @Autowired
     private BookRepository bookRepository;
     
     @Autowired
     private AuthorService authorService;
     
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private TotalCountCache totalCountCache;
+    
+    @Autowired
+    private EntityCaches entityCaches;
+    
+    @Autowired
+    private LatestBooksFeed latestBooksFeed;
+    
+    @Autowired
+    private UniqueKeyIndex uniqueKeyIndex;
+    
+    @Autowired
+    private PriceIndex priceIndex;
+    
+    @Autowired
+    private BookFacetIndex bookFacetIndex;
+    
+    @Value("${hub.search.max-results:100}")
+    private int maxSearchResults;
+    
     @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
@@ -33,6 +109,23 @@ public class BookService {
         return bookRepository.findAll(pageable);
     }
     
+    @Transactional(readOnly = true)
+    public Slice<Book> getAllBooksSlice(Pageable pageable) {
+        return bookRepository.findAllBy(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Book> getAllBooksWithCachedTotal(Pageable pageable) {
+        return totalCountCache.toPage(bookRepository.findAllBy(pageable),
+                TotalCountCache.BOOKS, "all", bookRepository::count);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getBooksAfter(String cursor, String sortBy, String sortDir, int size, Book.Genre genre) {
+        return keysetPaginator.fetch(BOOK_KEYSET, sortBy, sortDir, cursor, size,
+                Collections.singletonMap("genre", genre));
+    }
+    
     @Transactional(readOnly = true)
     public Book getBookById(Long id) {
         return bookRepository.findById(id)
@@ -65,9 +158,34 @@ public class BookService {
         return bookRepository.findByGenre(genre, pageable);
     }
     
+    @Transactional(readOnly = true)
+    public Slice<Book> getBooksByGenreSlice(Book.Genre genre, Pageable pageable) {
+        return bookRepository.findSliceByGenre(genre, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Book> getBooksByGenreWithCachedTotal(Book.Genre genre, Pageable pageable) {
+        return totalCountCache.toPage(bookRepository.findSliceByGenre(genre, pageable),
+                TotalCountCache.BOOKS, "genre=" + genre, () -> bookRepository.countByGenre(genre));
+    }
+    
     @Transactional(readOnly = true)
     public List<Book> searchBooks(String keyword) {
-        return bookRepository.searchByKeyword(keyword);
+        if (!bookSearchIndex.isReady()) {
+            return bookRepository.searchByKeyword(keyword);
+        }
+        List<Long> rankedIds = bookSearchIndex.search(keyword, maxSearchResults);
+        return inRankOrder(rankedIds, rankedIds.isEmpty() ? List.of() : bookRepository.findAllById(rankedIds), Book::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BookListItem> searchBookItems(String keyword) {
+        if (!bookSearchIndex.isReady()) {
+            return bookRepository.searchListItemsByKeyword(keyword);
+        }
+        List<Long> rankedIds = bookSearchIndex.search(keyword, maxSearchResults);
+        return inRankOrder(rankedIds, rankedIds.isEmpty() ? List.of() : bookRepository.findListItemsByIdIn(rankedIds),
+                BookListItem::getId);
     }
     
     @Transactional(readOnly = true)
@@ -76,8 +194,15 @@ public class BookService {
     }
     
     @Transactional(readOnly = true)
-    public List<Book> getBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return bookRepository.findByPriceRange(minPrice, maxPrice);
+    public Slice<Book> searchBooksByTitleSlice(String title, Pageable pageable) {
+        return bookRepository.findSliceByTitleContainingIgnoreCase(title, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Book> searchBooksByTitleWithCachedTotal(String title, Pageable pageable) {
+        return totalCountCache.toPage(bookRepository.findSliceByTitleContainingIgnoreCase(title, pageable),
+                TotalCountCache.BOOKS, "title=" + title.toLowerCase(Locale.ROOT),
+                () -> bookRepository.countByTitleContainingIgnoreCase(title));
     }
     
     @Transactional(readOnly = true)
@@ -85,27 +210,51 @@ public class BookService {
         return bookRepository.findByAuthorNameContaining(authorName);
     }
     
-    @Transactional(readOnly = true)
-    public List<Book> getLatestBooks() {
-        return bookRepository.findTop10ByOrderByCreatedAtDesc();
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookSummary> getLatestBooks() {
+        return getLatestBooks(10);
+    }
+    
+    /**
+     * Served from the in-memory feed once it is seeded, without touching the database.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookSummary> getLatestBooks(int limit) {
+        if (latestBooksFeed.isReady() && limit <= latestBooksFeed.getCapacity()) {
+            return latestBooksFeed.latest(limit);
+        }
+        return bookRepository.findLatestSummaries(PageRequest.of(0, limit));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookSummary> getLatestBooksByGenre(Book.Genre genre, int limit) {
+        if (latestBooksFeed.isReady() && limit <= latestBooksFeed.getCapacity()) {
+            return latestBooksFeed.latest(genre, limit);
+        }
+        return bookRepository.findLatestSummariesByGenre(genre, PageRequest.of(0, limit));
     }
     
     public Book createBook(Book book) {
-        validateBookIsbn(book.getIsbn(), null);
-        
         // Ensure the author exists
         if (book.getAuthor() != null && book.getAuthor().getId() != null) {
-            book.setAuthor(authorService.getAuthorById(book.getAuthor().getId()));
+            Author author = authorService.getAuthorById(book.getAuthor().getId());
+            book.setAuthor(author);
+            // Keep a collection already in memory in step, but never load one just to add to it
+            if (Hibernate.isInitialized(author.getBooks())) {
+                author.getBooks().add(book);
+            }
         }
         
-        return bookRepository.save(book);
+        Book savedBook = saveUnique(book);
+        if (savedBook.getAuthor() != null) {
+            authorService.adjustBookCount(savedBook.getAuthor().getId(), 1);
+        }
+        return savedBook;
     }
     
     public Book updateBook(Long id, Book bookDetails) {
         Book existingBook = getBookById(id);
         
-        validateBookIsbn(bookDetails.getIsbn(), id);
-        
         existingBook.setTitle(bookDetails.getTitle());
         existingBook.setIsbn(bookDetails.getIsbn());
         existingBook.setDescription(bookDetails.getDescription());
@@ -116,20 +265,25 @@ public class BookService {
         
         // Update author if provided
         if (bookDetails.getAuthor() != null && bookDetails.getAuthor().getId() != null) {
+            Long previousAuthorId = existingBook.getAuthor() != null ? existingBook.getAuthor().getId() : null;
             existingBook.setAuthor(authorService.getAuthorById(bookDetails.getAuthor().getId()));
+            moveBookCount(previousAuthorId, existingBook.getAuthor().getId());
         }
         
-        return bookRepository.save(existingBook);
+        return saveUnique(existingBook);
     }
     
     public void deleteBook(Long id) {
         Book book = getBookById(id);
         bookRepository.delete(book);
+        if (book.getAuthor() != null) {
+            authorService.adjustBookCount(book.getAuthor().getId(), -1);
+        }
     }
     
     @Transactional(readOnly = true)
     public boolean existsByIsbn(String isbn) {
-        return bookRepository.existsByIsbn(isbn);
+        return uniqueKeyIndex.exists(UniqueKeyIndex.Key.ISBN, isbn, bookRepository::existsByIsbn);
     }
     
     @Transactional(readOnly = true)
@@ -137,13 +291,235 @@ public class BookService {
         return bookRepository.countBooksByAuthor(authorId);
     }
     
-    private void validateBookIsbn(String isbn, Long currentBookId) {
-        if (isbn != null && !isbn.trim().isEmpty()) {
-            Optional<Book> existingBook = bookRepository.findByIsbn(isbn);
-            if (existingBook.isPresent() && 
-                (currentBookId == null || !existingBook.get().getId().equals(currentBookId))) {
-                throw new IllegalArgumentException("A book with this ISBN already exists");
+    @Transactional(readOnly = true)
+    public long getTotalBooksCount() {
+        return totalCountCache.getTotal(TotalCountCache.BOOKS, "all", bookRepository::count);
+    }
+    
+    // Read-only projections for the REST API: only the returned columns, author name joined in
+    
+    @Transactional(readOnly = true)
+    public Page<BookListItem> getAllBookItems(Pageable pageable) {
+        return bookRepository.findListItems(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Slice<BookListItem> getAllBookItemsSlice(Pageable pageable) {
+        return bookRepository.findListItemSlice(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<BookListItem> getBookItemsAfter(String cursor, String sortBy, String sortDir, int size,
+                                                      Book.Genre genre) {
+        return getBooksAfter(cursor, sortBy, sortDir, size, genre).map(BookListItem::from);
+    }
+    
+    /**
+     * Counted from the facet index once it is built, so only the page itself is queried.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookListItem> getBookItemsByGenre(Book.Genre genre, Pageable pageable) {
+        if (!canCountFromFacetIndex()) {
+            return bookRepository.findListItemsByGenre(genre, pageable);
+        }
+        long total = bookFacetIndex.count(BookFacetFilter.genre(genre));
+        List<BookListItem> items = pageable.getOffset() < total
+                ? bookRepository.findListItemSliceByGenre(genre, pageable).getContent() : List.of();
+        return new PageImpl<>(items, pageable, total);
+    }
+    
+    /**
+     * Books matching every dimension of the filter and, if given, containing {@code title}.
+     * Without a title the total comes from the facet index; with one it is counted, and cached
+     * like the other list totals.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> getBooksByFacets(BookFacetFilter filter, String title, Pageable pageable) {
+        if (title == null && canCountFromFacetIndex()) {
+            long total = bookFacetIndex.count(filter);
+            List<Book> books = pageable.getOffset() < total
+                    ? bookRepository.findSliceByFacets(filter, null, pageable).getContent() : List.of();
+            return new PageImpl<>(books, pageable, total);
+        }
+        return totalCountCache.toPage(bookRepository.findSliceByFacets(filter, title, pageable), TotalCountCache.BOOKS,
+                "facets=" + filter + ",title=" + (title == null ? "" : title.toLowerCase(Locale.ROOT)),
+                () -> bookRepository.countByFacets(filter, title));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<BookListItem> getBookItemsByFacets(BookFacetFilter filter, String title, Pageable pageable) {
+        return getBooksByFacets(filter, title, pageable).map(BookListItem::from);
+    }
+    
+    /**
+     * Match and facet counts for the filter, or {@code null} until the facet index is built.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookFacets getBookFacets(BookFacetFilter filter) {
+        return bookFacetIndex.isReady() ? bookFacetIndex.facets(filter) : null;
+    }
+    
+    @Transactional(readOnly = true)
+    public Slice<BookListItem> getBookItemsByGenreSlice(Book.Genre genre, Pageable pageable) {
+        return bookRepository.findListItemSliceByGenre(genre, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BookListItem> getBookItemsByAuthorId(Long authorId) {
+        return bookRepository.findListItemsByAuthorId(authorId);
+    }
+    
+    /**
+     * Books priced from {@code minPrice} to {@code maxPrice}, cheapest first unless the
+     * pageable sorts by price descending. Once the price index is built the total comes from
+     * it and only the page's rows are read.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookListItem> getBookItemsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        checkPriceRange(minPrice, maxPrice);
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+        boolean descending = priceOrder != null && priceOrder.isDescending();
+        if (!priceIndex.isReady()) {
+            Sort sort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, "price", "id");
+            return bookRepository.findListItemsByPriceRange(minPrice, maxPrice,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+        }
+        
+        long minCents = lowerCents(minPrice);
+        long maxCents = upperCents(maxPrice);
+        long total = priceIndex.count(minCents, maxCents);
+        List<Long> rankedIds = Arrays.stream(priceIndex.slice(minCents, maxCents, pageable.getOffset(),
+                pageable.getPageSize(), descending)).boxed().collect(Collectors.toList());
+        List<BookListItem> items = inRankOrder(rankedIds,
+                rankedIds.isEmpty() ? List.of() : bookRepository.findListItemsByIdIn(rankedIds), BookListItem::getId);
+        return new PageImpl<>(items, pageable, total);
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long countBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        checkPriceRange(minPrice, maxPrice);
+        if (!priceIndex.isReady()) {
+            return bookRepository.countByPriceBetween(minPrice, maxPrice);
+        }
+        return priceIndex.count(lowerCents(minPrice), upperCents(maxPrice));
+    }
+    
+    /**
+     * Splits the price range into at most {@code buckets} equal bands, in whole cents, and
+     * counts the books in each.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PriceBucket> getPriceHistogram(BigDecimal minPrice, BigDecimal maxPrice, int buckets) {
+        checkPriceRange(minPrice, maxPrice);
+        if (buckets < 1) {
+            throw new IllegalArgumentException("A histogram needs at least one bucket");
+        }
+        long minCents = lowerCents(minPrice);
+        long maxCents = upperCents(maxPrice);
+        if (minCents > maxCents) {
+            return List.of();
+        }
+        long width = Math.max(1, (maxCents - minCents + buckets) / buckets);
+        long[] counts = priceIndex.isReady() ? priceIndex.histogram(minCents, maxCents, width) : null;
+        
+        List<PriceBucket> histogram = new ArrayList<>();
+        for (long from = minCents, i = 0; from <= maxCents; from += width, i++) {
+            long to = Math.min(maxCents, from + width - 1);
+            BigDecimal fromPrice = BigDecimal.valueOf(from, 2);
+            BigDecimal toPrice = BigDecimal.valueOf(to, 2);
+            histogram.add(new PriceBucket(fromPrice, toPrice,
+                    counts != null ? counts[(int) i] : bookRepository.countByPriceBetween(fromPrice, toPrice)));
+        }
+        return histogram;
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getBookVersion(Long id) {
+        BookVersionView version = bookRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+        return ResourceVersion.of("book:" + id + ':' + version.getUpdatedAt() + ':' + version.getAuthorUpdatedAt(),
+                ResourceVersion.latest(version.getUpdatedAt(), version.getAuthorUpdatedAt()));
+    }
+    
+    /**
+     * Served from the detail cache, so a hit costs no query at all.
+     */
+    @Transactional(readOnly = true)
+    public BookDetail getBookDetail(Long id) {
+        BookDetail book = entityCaches.bookDetails().get(id,
+                () -> bookRepository.findDetailById(id).orElse(null));
+        if (book == null) {
+            throw new ResourceNotFoundException("Book not found with id: " + id);
+        }
+        return book;
+    }
+    
+    /**
+     * The facet index only sees committed books, so a read-write transaction, which may
+     * have written some of its own, counts in the database.
+     */
+    private boolean canCountFromFacetIndex() {
+        return bookFacetIndex.isReady() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+    
+    private static void checkPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+    }
+    
+    /**
+     * The lowest whole-cent price at or above {@code price}, clamped to what the column holds.
+     */
+    private static long lowerCents(BigDecimal price) {
+        return PriceIndex.toCents(price.max(MAX_PRICE.negate()).min(MAX_PRICE), RoundingMode.CEILING);
+    }
+    
+    private static long upperCents(BigDecimal price) {
+        return PriceIndex.toCents(price.max(MAX_PRICE.negate()).min(MAX_PRICE), RoundingMode.FLOOR);
+    }
+    
+    /**
+     * Reorders rows loaded with {@code IN (:ids)} back into the relevance order from the index.
+     */
+    private static <T> List<T> inRankOrder(List<Long> rankedIds, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> rowsById = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return rankedIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Moves one book from one author's count to the other's. The two rows are always updated
+     * in id order so concurrent reassignments between the same authors cannot deadlock.
+     */
+    private void moveBookCount(Long fromAuthorId, Long toAuthorId) {
+        if (Objects.equals(fromAuthorId, toAuthorId)) {
+            return;
+        }
+        if (fromAuthorId != null && (toAuthorId == null || fromAuthorId < toAuthorId)) {
+            authorService.adjustBookCount(fromAuthorId, -1);
+            authorService.adjustBookCount(toAuthorId, 1);
+        } else {
+            authorService.adjustBookCount(toAuthorId, 1);
+            authorService.adjustBookCount(fromAuthorId, -1);
+        }
+    }
+    
+    /**
+     * Writes the book in one round trip and lets the ISBN unique constraint reject duplicates,
+     * which also holds when two requests save the same ISBN at once.
+     */
+    private Book saveUnique(Book book) {
+        uniqueKeyIndex.add(UniqueKeyIndex.Key.ISBN, book.getIsbn());
+        try {
+            return bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraints.isViolation(e, Book.ISBN_CONSTRAINT)) {
+                throw new IllegalArgumentException("A book with this ISBN already exists", e);
             }
+            throw e;
         }
     }
 }
@@ -1,28 +1,83 @@
 package com.example.hub;
 
+import com.example.hub.controller.AuthorController;
+import com.example.hub.controller.BookController;
 import com.example.hub.entity.Author;
 import com.example.hub.entity.Book;
+import com.example.hub.metrics.RequestQueries;
+import com.example.hub.metrics.SqlStatementCounter;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
 import com.example.hub.service.AuthorService;
 import com.example.hub.service.BookService;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @TestPropertySource(locations = "classpath:application-test.properties")
+@AutoConfigureMockMvc
 @Transactional
 class AuthorsAndReadersHubApplicationTests {
 
+    private static final String AUTHOR_BOOKS = Author.class.getName() + ".books";
+
     @Autowired
     private AuthorService authorService;
 
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookController bookController;
+
+    @Autowired
+    private AuthorController authorController;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Test
     void contextLoads() {
         // Test that the application context loads successfully
@@ -74,4 +129,176 @@ class AuthorsAndReadersHubApplicationTests {
         Author authorWithBooks = authorService.getAuthorWithBooks(savedAuthor.getId());
         assertEquals(2, authorWithBooks.getBooks().size());
     }
+
+    @Test
+    void testBookCreationDoesNotLoadTheAuthorsBooks() {
+        Author author = authorService.createAuthor(new Author("Busy Author", "busy@example.com", null));
+        bookService.createBook(new Book("Earlier Book", "777-0000000001", null, author));
+        entityManager.flush();
+        entityManager.clear();
+
+        Author reference = new Author();
+        reference.setId(author.getId());
+        bookService.createBook(new Book("Later Book", "777-0000000002", null, reference));
+
+        Author managed = entityManager.find(Author.class, author.getId());
+        assertFalse(Hibernate.isInitialized(managed.getBooks()));
+        assertEquals(2, bookRepository.countBooksByAuthor(author.getId()));
+    }
+
+    @Test
+    void testAuthorWithBooksCannotBeDeletedBeforeItsBookCountIsBackfilled() {
+        Author author = authorService.createAuthor(new Author("Unbackfilled Author", "unbackfilled@example.com", null));
+        Long bookId = bookService.createBook(new Book("Kept Book", "666-0000000001", null, author)).getId();
+        // As on a database where book_count was added with its default and never recounted
+        entityManager.createQuery("UPDATE Author a SET a.bookCount = 0 WHERE a.id = :id")
+                .setParameter("id", author.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertThrows(IllegalStateException.class, () -> authorService.deleteAuthor(author.getId()));
+        assertTrue(bookRepository.existsById(bookId));
+    }
+
+    @Test
+    void testAuthorWithBooksStaysWithinItsQueryBudget() throws Exception {
+        Author author = authorService.createAuthor(new Author("Budget Author", "budget@example.com", "Counts queries"));
+        for (int i = 0; i < 5; i++) {
+            bookService.createBook(new Book("Budget Book " + i, "333-00000000" + i, "Book " + i, author));
+        }
+        // Pending inserts would otherwise be flushed, and counted, by the request's first query
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult full = mockMvc.perform(get("/api/authors/{id}/with-books", author.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        RequestQueries queries = RequestQueries.from(full.getRequest());
+        assertTrue(queries.getStatementCount() <= 3, "statements: " + queries.getStatementCount());
+        assertTrue(queries.getRepeatedStatements().isEmpty(), "no statement may run once per book");
+
+        MvcResult revalidated = mockMvc.perform(get("/api/authors/{id}/with-books", author.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, full.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals(1, RequestQueries.from(revalidated.getRequest()).getStatementCount());
+    }
+
+    @Test
+    void testKeysetListPagesClampTheirSize() {
+        Model books = new ExtendedModelMap();
+        bookController.listBooks(0, 0, "title", "asc", null, null, null, null, "", books);
+        assertEquals(1, ((List<?>) books.getAttribute("books")).size());
+
+        Model authors = new ExtendedModelMap();
+        authorController.listAuthors(0, -5, "name", "asc", null, "", authors);
+        assertEquals(1, ((List<?>) authors.getAttribute("authors")).size());
+    }
+
+    @Test
+    void testLazyLoadingBooksPerAuthorIsReportedAsNPlusOne() {
+        List<Long> authorIds = List.of(
+                authorService.createAuthor(new Author("Lazy One", "lazy1@example.com", null)).getId(),
+                authorService.createAuthor(new Author("Lazy Two", "lazy2@example.com", null)).getId(),
+                authorService.createAuthor(new Author("Lazy Three", "lazy3@example.com", null)).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        RequestQueries queries = sqlStatementCounter.capture(() -> authorIds.forEach(id ->
+                entityManager.find(Author.class, id).getBooks().size()));
+
+        RequestQueries.RepeatedStatement books = queries.getRepeatedStatements().stream()
+                .filter(repeated -> repeated.getSql().contains("books"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, books.getExecutions());
+        assertTrue(books.isNPlusOne());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testBookUpdateAndDeleteEvictTheSecondLevelCache() {
+        Author first = authorService.createAuthor(new Author("Cached Author", "cached1@example.com", null));
+        Author second = authorService.createAuthor(new Author("Other Cached Author", "cached2@example.com", null));
+        Long bookId = bookService.createBook(new Book("Cached Book", "444-0000000001", null, first)).getId();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try {
+            readOnly.executeWithoutResult(status -> {
+                assertEquals(1, entityManager.find(Author.class, first.getId()).getBooks().size());
+                bookRepository.findByIsbn("444-0000000001");
+            });
+            assertTrue(cache.containsEntity(Book.class, bookId));
+            assertTrue(cache.containsCollection(AUTHOR_BOOKS, first.getId()));
+            RequestQueries cached = sqlStatementCounter.capture(() -> readOnly.executeWithoutResult(status ->
+                    assertEquals(bookId, bookRepository.findByIsbn("444-0000000001").orElseThrow().getId())));
+            assertEquals(0, cached.getStatementCount(), "the ISBN lookup is served from the cache");
+
+            // Each read below would return the cached state had the write not evicted it
+            bookService.updateBook(bookId, new Book("Renamed Book", "444-0000000002", null, second));
+            readOnly.executeWithoutResult(status -> {
+                assertEquals("Renamed Book", entityManager.find(Book.class, bookId).getTitle());
+                assertTrue(bookRepository.findByIsbn("444-0000000001").isEmpty());
+                assertEquals(bookId, bookRepository.findByIsbn("444-0000000002").orElseThrow().getId());
+                assertEquals(0, entityManager.find(Author.class, first.getId()).getBooks().size());
+                assertEquals(1, entityManager.find(Author.class, second.getId()).getBooks().size());
+            });
+
+            bookService.deleteBook(bookId);
+            readOnly.executeWithoutResult(status -> {
+                assertNull(entityManager.find(Book.class, bookId));
+                assertTrue(bookRepository.findByIsbn("444-0000000002").isEmpty());
+                assertEquals(0, entityManager.find(Author.class, second.getId()).getBooks().size());
+            });
+        } finally {
+            if (bookRepository.existsById(bookId)) {
+                bookService.deleteBook(bookId);
+            }
+            authorService.deleteAuthor(first.getId());
+            authorService.deleteAuthor(second.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testAuthorUpdateAndDeleteEvictTheSecondLevelCache() {
+        Long authorId = authorService.createAuthor(new Author("Cached Writer", "writer@example.com", null)).getId();
+        Long bookId = bookService.createBook(new Book("Writer's Book", "555-0000000001", null,
+                authorRepository.findById(authorId).orElseThrow())).getId();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try {
+            readOnly.executeWithoutResult(status -> authorRepository.findByEmail("writer@example.com"));
+            assertTrue(cache.containsEntity(Author.class, authorId));
+            RequestQueries cached = sqlStatementCounter.capture(() -> readOnly.executeWithoutResult(status ->
+                    assertEquals(1, authorRepository.findByEmail("writer@example.com").orElseThrow().getBookCount())));
+            assertEquals(0, cached.getStatementCount(), "the email lookup is served from the cache");
+
+            authorService.updateAuthor(authorId, new Author("Renamed Writer", "renamed@example.com", null));
+            readOnly.executeWithoutResult(status -> {
+                assertEquals("Renamed Writer", entityManager.find(Author.class, authorId).getName());
+                assertTrue(authorRepository.findByEmail("writer@example.com").isEmpty());
+                assertEquals(authorId, authorRepository.findByEmail("renamed@example.com").orElseThrow().getId());
+            });
+
+            // A cached copy of the author or its books from before the book's deletion would make this delete fail
+            bookService.deleteBook(bookId);
+            authorService.deleteAuthor(authorId);
+            readOnly.executeWithoutResult(status -> {
+                assertNull(entityManager.find(Author.class, authorId));
+                assertTrue(authorRepository.findByEmail("renamed@example.com").isEmpty());
+            });
+        } finally {
+            if (bookRepository.existsById(bookId)) {
+                bookService.deleteBook(bookId);
+            }
+            if (authorRepository.existsById(authorId)) {
+                authorService.deleteAuthor(authorId);
+            }
+        }
+    }
 }
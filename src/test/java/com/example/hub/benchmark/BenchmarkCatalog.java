@@ -0,0 +1,75 @@
+package com.example.hub.benchmark;
+
+import com.example.hub.AuthorsAndReadersHubApplication;
+import com.example.hub.generator.SyntheticText;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the application against a private in-memory H2 database filled with a
+ * deterministic synthetic catalog, for the benchmarks.
+ */
+public final class BenchmarkCatalog {
+    
+    /**
+     * The most frequent words of the generated titles and descriptions, for search terms
+     * that match a realistic share of the catalog.
+     */
+    public static final String[] WORDS = SyntheticText.VOCABULARY.subList(0, 40).toArray(new String[0]);
+    
+    private BenchmarkCatalog() {
+    }
+    
+    /**
+     * Starts the application on an H2 database named {@code database}, generating a catalog of
+     * {@code books} books by one author per twenty books before it reports ready. The same size
+     * always yields the same catalog, with ids starting at 1. {@code extraArgs} are further
+     * {@code --name=value} properties and replace defaults of the same name, so a run can point
+     * {@code spring.datasource.*} at a local PostgreSQL instead.
+     */
+    public static ConfigurableApplicationContext start(SpringApplicationBuilder builder, String database, int books,
+                                                       String... extraArgs) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.hub", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("hub.counters.recount-on-startup", "false");
+        properties.put("hub.generator.authors", Integer.toString(Math.max(1, books / 20)));
+        properties.put("hub.generator.books", Integer.toString(books));
+        properties.put("hub.generator.seed", "42");
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String arg : extraArgs) {
+            int separator = arg.indexOf('=');
+            overrides.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (!overrides.getOrDefault("spring.datasource.url", "jdbc:h2:").startsWith("jdbc:h2:")) {
+            // Another database: its driver, dialect and credentials come from the overrides or application.properties
+            properties.remove("spring.datasource.driver-class-name");
+            properties.remove("spring.jpa.database-platform");
+            properties.remove("spring.datasource.username");
+            properties.remove("spring.datasource.password");
+        }
+        properties.putAll(overrides);
+        // Devtools reads this before the arguments are parsed; a restart would re-run the caller's main without its own arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return builder.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + '=' + property.getValue())
+                .toArray(String[]::new));
+    }
+    
+    public static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(AuthorsAndReadersHubApplication.class);
+    }
+}
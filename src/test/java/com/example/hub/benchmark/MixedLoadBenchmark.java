@@ -0,0 +1,193 @@
+package com.example.hub.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mixed slow/fast HTTP load against an embedded instance, to compare the platform-thread and
+ * virtual-thread request modes.
+ * <p>
+ * Slow requests hold a pooled connection for {@code --slow-ms}, standing in for a heavy
+ * search query. Fast requests are {@code GET /api/books/{id}}. The benchmark reports
+ * throughput and latency percentiles per request kind. Run each mode separately:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.hub.benchmark.MixedLoadBenchmark -Dexec.args="--mode=platform"
+ * mvn -Pvirtual-threads test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.hub.benchmark.MixedLoadBenchmark -Dexec.args="--mode=virtual"
+ * </pre>
+ * Options, with defaults: {@code --clients=200 --slow-ratio=0.2 --slow-ms=200 --books=2000
+ * --warmup-seconds=5 --seconds=30 --pool-size=10 --tomcat-threads=200}.
+ */
+public final class MixedLoadBenchmark {
+    
+    private MixedLoadBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String mode = options.getOrDefault("mode", "platform");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        double slowRatio = Double.parseDouble(options.getOrDefault("slow-ratio", "0.2"));
+        long slowMillis = Long.parseLong(options.getOrDefault("slow-ms", "200"));
+        int books = Integer.parseInt(options.getOrDefault("books", "2000"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "5"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        String poolSize = options.getOrDefault("pool-size", "10");
+        String tomcatThreads = options.getOrDefault("tomcat-threads", "200");
+        
+        SpringApplicationBuilder builder = BenchmarkCatalog.application()
+                .initializers(context -> ((GenericApplicationContext) context).registerBean("slowQueryRoute",
+                        RouterFunction.class, () -> slowQueryRoute(context, slowMillis)));
+        try (ConfigurableApplicationContext context = BenchmarkCatalog.start(builder, "mixed-load", books,
+                "--server.port=0",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--hub.virtual-threads.enabled=" + "virtual".equals(mode))) {
+            
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            
+            run(client, baseUrl, clients, slowRatio, books, warmupSeconds);
+            Result result = run(client, baseUrl, clients, slowRatio, books, seconds);
+            
+            System.out.printf("%nmode=%s clients=%d slow-ratio=%.2f slow-ms=%d pool-size=%s tomcat-threads=%s seconds=%d%n",
+                    mode, clients, slowRatio, slowMillis, poolSize, tomcatThreads, seconds);
+            System.out.printf("%-5s %9s %10s %8s %8s %8s %8s%n", "kind", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+            print("fast", result.fast, result.fastErrors, seconds);
+            print("slow", result.slow, result.slowErrors, seconds);
+        }
+    }
+    
+    private static RouterFunction<ServerResponse> slowQueryRoute(ApplicationContext context,
+                                                                 long slowMillis) {
+        return RouterFunctions.route().GET("/bench/slow", request -> {
+            try (Connection connection = context.getBean(DataSource.class).getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT COUNT(*) FROM books");
+                Thread.sleep(slowMillis);
+            }
+            return ServerResponse.ok().body("ok");
+        }).build();
+    }
+    
+    private static Result run(HttpClient client, String baseUrl, int clients, double slowRatio, int books,
+                              int seconds) throws InterruptedException {
+        Result result = new Result();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                List<Long> fast = new ArrayList<>();
+                List<Long> slow = new ArrayList<>();
+                int fastErrors = 0;
+                int slowErrors = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    boolean isSlow = random.nextDouble() < slowRatio;
+                    String path = isSlow ? "/bench/slow" : "/api/books/" + (1 + random.nextInt(books));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long started = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long elapsed = System.nanoTime() - started;
+                    if (isSlow) {
+                        slow.add(elapsed);
+                        slowErrors += ok ? 0 : 1;
+                    } else {
+                        fast.add(elapsed);
+                        fastErrors += ok ? 0 : 1;
+                    }
+                }
+                result.add(fast, slow, fastErrors, slowErrors);
+            }, "load-client-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return result;
+    }
+    
+    private static void print(String kind, long[] latencies, int errors, int seconds) {
+        Arrays.sort(latencies);
+        System.out.printf("%-5s %9d %10.1f %8.1f %8.1f %8.1f %8d%n", kind, latencies.length,
+                latencies.length / (double) seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0.0, errors);
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+    
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static final class Result {
+        private long[] fast = new long[0];
+        private long[] slow = new long[0];
+        private int fastErrors;
+        private int slowErrors;
+        
+        private synchronized void add(List<Long> fastLatencies, List<Long> slowLatencies, int fastFailures,
+                                      int slowFailures) {
+            fast = concat(fast, fastLatencies);
+            slow = concat(slow, slowLatencies);
+            fastErrors += fastFailures;
+            slowErrors += slowFailures;
+        }
+        
+        private static long[] concat(long[] existing, List<Long> more) {
+            long[] merged = Arrays.copyOf(existing, existing.length + more.size());
+            for (int i = 0; i < more.size(); i++) {
+                merged[existing.length + i] = more.get(i);
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hub.cache;
+
+import com.example.hub.dto.AuthorOption;
+import com.example.hub.entity.Author;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.AuthorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthorDirectoryTest {
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final AuthorDirectory directory = new AuthorDirectory();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(directory, "authorRepository", authorRepository);
+        when(authorRepository.findAllOptions()).thenReturn(List.of(
+                new AuthorOption(1L, "Zadie Smith"),
+                new AuthorOption(2L, "Ann Annable"),
+                new AuthorOption(3L, "Émile Zola"),
+                new AuthorOption(4L, "Mary Ann Evans"),
+                new AuthorOption(5L, "Anne Brontë"),
+                new AuthorOption(6L, "George Eliot")));
+        // As in AuthorService, which reads the directory in read-only transactions
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void blankQueriesPageThroughAllAuthorsInNameOrder() {
+        assertEquals(List.of(2L, 5L, 3L), ids(directory.search(" ", PageRequest.of(0, 3))));
+        Slice<AuthorOption> last = directory.search(null, PageRequest.of(1, 3));
+        assertEquals(List.of(6L, 4L, 1L), ids(last));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void queriesMatchTheStartOfAnyNameWordOnce() {
+        assertEquals(List.of(2L, 5L, 4L), ids(directory.search("ann", PageRequest.of(0, 10))));
+        assertEquals(List.of(4L), ids(directory.search("ann ev", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(directory.search("zol", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(directory.search("EMILE ZOLA", PageRequest.of(0, 10))));
+        assertTrue(directory.search("nn", PageRequest.of(0, 10)).getContent().isEmpty());
+    }
+
+    @Test
+    void queryResultsArePagedInNameOrder() {
+        Slice<AuthorOption> first = directory.search("ann", PageRequest.of(0, 2));
+        assertEquals(List.of(2L, 5L), ids(first));
+        assertTrue(first.hasNext());
+
+        Slice<AuthorOption> second = directory.search("ann", PageRequest.of(1, 2));
+        assertEquals(List.of(4L), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void committedWritesAreAppliedWithoutReloading() {
+        directory.size();
+
+        directory.onAuthorChanged(new AuthorChangedEvent(author(1L, "Annie Proulx"), EntityChangeType.UPDATED));
+        assertEquals(List.of(2L, 5L, 1L, 4L), ids(directory.search("ann", PageRequest.of(0, 10))));
+        assertTrue(directory.search("smith", PageRequest.of(0, 10)).getContent().isEmpty());
+
+        directory.onAuthorChanged(new AuthorChangedEvent(author(4L, "Mary Ann Evans"), EntityChangeType.DELETED));
+        directory.onAuthorChanged(new AuthorChangedEvent(author(7L, "Ann Patchett"), EntityChangeType.CREATED));
+        assertEquals(List.of(2L, 7L, 5L, 1L), ids(directory.search("ann", PageRequest.of(0, 10))));
+        assertEquals("Ann Patchett", directory.find(7L).getName());
+        assertNull(directory.find(4L));
+        assertEquals(6, directory.size());
+
+        verify(authorRepository, times(1)).findAllOptions();
+    }
+
+    private static Author author(Long id, String name) {
+        Author author = new Author(name, null, null);
+        author.setId(id);
+        return author;
+    }
+
+    private static List<Long> ids(Slice<AuthorOption> slice) {
+        return slice.getContent().stream().map(AuthorOption::getId).toList();
+    }
+}
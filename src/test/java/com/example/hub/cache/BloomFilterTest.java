@@ -0,0 +1,89 @@
+package com.example.hub.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final int PROBES = 100_000;
+
+    @Test
+    void anEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        assertFalse(filter.mightContain("978-0-00-000000-0"));
+        assertFalse(filter.mightContain(""));
+        assertEquals(0.0, filter.expectedFalsePositiveProbability());
+    }
+
+    @Test
+    void everyInsertedValueIsFound() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("author" + i + "@example.com");
+        }
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("author" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("isbn-" + i);
+        }
+
+        double observed = falsePositiveRate(filter, "absent-");
+        assertTrue(observed < 0.02, "observed false-positive rate " + observed);
+        assertEquals(0.01, filter.expectedFalsePositiveProbability(), 0.005);
+        assertEquals(filter.expectedFalsePositiveProbability(), observed, 0.005);
+    }
+
+    @Test
+    void overfillingRaisesTheFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS * 4; i++) {
+            filter.put("isbn-" + i);
+        }
+
+        double observed = falsePositiveRate(filter, "absent-");
+        assertTrue(observed > 0.1, "observed false-positive rate " + observed);
+        assertTrue(filter.expectedFalsePositiveProbability() > 0.1);
+    }
+
+    @Test
+    void concurrentInsertsAreAllFound() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.execute(() -> {
+                for (int i = offset; i < INSERTIONS; i += 4) {
+                    filter.put("value-" + i);
+                }
+            });
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("value-" + i));
+        }
+    }
+
+    private static double falsePositiveRate(BloomFilter filter, String prefix) {
+        int positives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(prefix + i)) {
+                positives++;
+            }
+        }
+        return (double) positives / PROBES;
+    }
+}
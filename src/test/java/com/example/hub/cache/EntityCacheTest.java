@@ -0,0 +1,128 @@
+package com.example.hub.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void readOnlyTransaction() {
+        // Only read-only lookups go through the cache
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void loadsWithinTheReplicaLagAfterAnInvalidationAreNotCached() throws InterruptedException {
+        EntityCache<String> cache = new EntityCache<>("test", 100, 200);
+        assertEquals("v1", cache.get(1L, () -> load("v1")));
+        cache.invalidate(1L);
+
+        // A lagging replica could still return the old row here
+        assertEquals("v1", cache.get(1L, () -> load("v1")));
+        assertEquals(0, cache.size());
+        assertEquals("v2", cache.get(1L, () -> load("v2")));
+
+        Thread.sleep(250);
+        assertEquals("v2", cache.get(1L, () -> load("v2")));
+        assertEquals("v2", cache.get(1L, () -> load("v3")));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void otherKeysAreCachedDuringTheReplicaLag() {
+        EntityCache<String> cache = new EntityCache<>("test", 100, 60_000);
+        cache.invalidate(1L);
+
+        cache.get(2L, () -> load("two"));
+        assertEquals("two", cache.get(2L, () -> load("other")));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void aLoadOverlappingAnInvalidationIsReturnedButNotCached() throws Exception {
+        EntityCache<String> cache = new EntityCache<>("test", 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> reader = threads.submit(() -> {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                return cache.get(1L, () -> {
+                    loading.countDown();
+                    awaitQuietly(release);
+                    return load("before write");
+                });
+            });
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // invalidateAll does not wait for loads in flight, so only the generation check
+            // keeps this value out of the cache
+            threads.submit(cache::invalidateAll).get(5, TimeUnit.SECONDS);
+            release.countDown();
+
+            assertEquals("before write", reader.get(5, TimeUnit.SECONDS));
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals("after write", cache.get(1L, () -> load("after write")));
+        assertEquals("after write", cache.get(1L, () -> load("again")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationRemovesACachedValue() {
+        EntityCache<String> cache = new EntityCache<>("test", 100);
+        cache.get(1L, () -> load("v1"));
+        cache.invalidate(1L);
+        assertEquals("v2", cache.get(1L, () -> load("v2")));
+        assertEquals("v2", cache.get(1L, () -> load("v3")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void readWriteTransactionsBypassTheCache() {
+        EntityCache<String> cache = new EntityCache<>("test", 100);
+        cache.get(1L, () -> load("cached"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals("fresh", cache.get(1L, () -> load("fresh")));
+        assertEquals("uncommitted", cache.get(2L, () -> load("uncommitted")));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("cached", cache.get(1L, () -> load("other")));
+        assertEquals("committed", cache.get(2L, () -> load("committed")));
+        assertEquals(4, loads.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hub.concurrent;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "hub.parallel-reads.timeout-ms=1500")
+class ParallelReadsTest {
+
+    private static final String QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    @Autowired
+    private ParallelReads parallelReads;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void readsRunInAReadOnlyTransaction() {
+        PendingRead<Boolean> read = parallelReads.submit("readOnly",
+                TransactionSynchronizationManager::isCurrentTransactionReadOnly, false);
+
+        assertTrue(read.get());
+        assertFalse(read.isDegraded());
+    }
+
+    @Test
+    void queriesOfAReadCarryTheTimeoutSoTheDatabaseCanAbortThem() {
+        PendingRead<Object> read = parallelReads.submit("queryTimeout",
+                () -> entityManager.createQuery("SELECT COUNT(a) FROM Author a", Long.class)
+                        .getHints().get(QUERY_TIMEOUT), null);
+
+        Object timeoutMillis = read.get();
+        assertNotNull(timeoutMillis, "queries must carry a timeout");
+        long millis = ((Number) timeoutMillis).longValue();
+        assertTrue(millis > 0 && millis <= 2000, "timeout: " + millis);
+    }
+}
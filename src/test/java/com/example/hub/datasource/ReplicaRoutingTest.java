@@ -0,0 +1,91 @@
+package com.example.hub.datasource;
+
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.service.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a replica pool over the same in-memory database as the primary, so reads see
+ * the primary's data while both routes are exercised.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicadb;DEFAULT_NULL_ORDERING=HIGH",
+        "hub.read-replicas.urls=jdbc:h2:mem:replicadb;DEFAULT_NULL_ORDERING=HIGH"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testReadOnlyWorkGoesToTheReplicaUnlessTheClientJustWrote() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Routed Author\",\"email\":\"routed@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie sticky = created.getResponse().getCookie("hub-primary-until");
+        assertNotNull(sticky, "a committed write pins the client to the primary");
+        Long authorId = authorService.findByEmail("routed@example.com").orElseThrow().getId();
+
+        // The request's window ends with the request, so the worker thread reads from the replica again
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        double replicaReads = routes("replica-1", "read");
+        readOnly.executeWithoutResult(status -> authorRepository.count());
+        assertEquals(replicaReads + 1, routes("replica-1", "read"));
+
+        try {
+            double stickyReads = routes("primary", "sticky");
+            mockMvc.perform(get("/api/authors/{id}/with-books", authorId).cookie(sticky))
+                    .andExpect(status().isOk());
+            assertTrue(routes("primary", "sticky") > stickyReads, "the writer reads from the primary");
+
+            replicaReads = routes("replica-1", "read");
+            mockMvc.perform(get("/api/authors/{id}/with-books", authorId))
+                    .andExpect(status().isOk());
+            assertTrue(routes("replica-1", "read") > replicaReads, "other clients read from the replica");
+        } finally {
+            authorService.deleteAuthor(authorId);
+        }
+
+        // Outside a request the window belongs to the thread that committed
+        double stickyReads = routes("primary", "sticky");
+        readOnly.executeWithoutResult(status -> authorRepository.count());
+        assertEquals(stickyReads + 1, routes("primary", "sticky"));
+    }
+
+    private double routes(String pool, String reason) {
+        return meterRegistry.counter("hub.datasource.routes", "pool", pool, "reason", reason).count();
+    }
+}
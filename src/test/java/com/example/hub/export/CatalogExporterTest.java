@@ -0,0 +1,112 @@
+package com.example.hub.export;
+
+import com.example.hub.dto.AuthorDetail;
+import com.example.hub.repository.AuthorRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogExporterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+    private final CatalogExporter exporter = new CatalogExporter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exporter, "authorRepository", authorRepository);
+        ReflectionTestUtils.setField(exporter, "objectMapper", objectMapper);
+        ReflectionTestUtils.invokeMethod(exporter, "createRowWriter");
+    }
+
+    @Test
+    void csvQuotesFieldsWithDelimitersQuotesAndLineBreaks() throws IOException {
+        when(authorRepository.streamAllDetails()).thenReturn(Stream.of(
+                author(1L, "Plain Name", "Writes books"),
+                author(2L, "Last, First", "Said \"hello\""),
+                author(3L, "Multi", "line one\nline two\r\nline three")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, exporter.exportAuthors(ExportFormat.CSV, out));
+
+        assertEquals("id,name,email,bio,bookCount,createdAt,updatedAt\r\n"
+                + "1,Plain Name,a1@example.com,Writes books,0,2024-01-02T03:04:05,\r\n"
+                + "2,\"Last, First\",a2@example.com,\"Said \"\"hello\"\"\",0,2024-01-02T03:04:05,\r\n"
+                + "3,Multi,a3@example.com,\"line one\nline two\r\nline three\",0,2024-01-02T03:04:05,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csvLeavesNullFieldsEmptyAndKeepsUnicode() throws IOException {
+        when(authorRepository.streamAllDetails()).thenReturn(Stream.of(author(4L, "Émile Zola", null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportAuthors(ExportFormat.CSV, out);
+
+        String row = out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertEquals("4,Émile Zola,a4@example.com,,0,2024-01-02T03:04:05,", row);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        when(authorRepository.streamAllDetails()).thenReturn(Stream.of(
+                author(1L, "One", "line one\nline two"),
+                author(2L, "Two", null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, exporter.exportAuthors(ExportFormat.NDJSON, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("line one\nline two", first.get("bio").asText());
+        assertEquals("Two", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void ndjsonIsNotFlushedRowByRow() throws IOException {
+        when(authorRepository.streamAllDetails()).thenReturn(
+                LongStream.rangeClosed(1, 100).mapToObj(id -> author(id, "Author " + id, null)));
+
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        assertEquals(100, exporter.exportAuthors(ExportFormat.NDJSON, out));
+
+        assertTrue(flushes.get() <= 2, "flushed " + flushes.get() + " times");
+    }
+
+    @Test
+    void formatsAreParsedCaseInsensitively() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter(" Csv "));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xml"));
+    }
+
+    private static AuthorDetail author(Long id, String name, String bio) {
+        return new AuthorDetail(id, name, "a" + id + "@example.com", bio, 0, CREATED, null);
+    }
+}
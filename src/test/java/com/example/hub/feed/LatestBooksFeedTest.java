@@ -0,0 +1,84 @@
+package com.example.hub.feed;
+
+import com.example.hub.dto.BookSummary;
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LatestBooksFeedTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final Author author = new Author("Feed Author", "feed@example.com", null);
+    private final LatestBooksFeed feed = new LatestBooksFeed(3);
+
+    @BeforeEach
+    void setUp() {
+        author.setId(1L);
+        ReflectionTestUtils.setField(feed, "bookRepository", bookRepository);
+        when(bookRepository.findLatestSummariesByGenre(any(), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void readersKeepTheSnapshotTheyWereGiven() {
+        when(bookRepository.findLatestSummaries(any(Pageable.class))).thenReturn(summaries(2, 1));
+        feed.seed();
+
+        List<BookSummary> latest = feed.latest(3);
+        feed.onBookChanged(new BookChangedEvent(book(3), EntityChangeType.CREATED));
+
+        assertEquals(List.of(2L, 1L), ids(latest));
+        assertEquals(List.of(3L, 2L, 1L), ids(feed.latest(3)));
+    }
+
+    @Test
+    void refillQueriesOutsideTheLockAndKeepsChangesMadeMeanwhile() {
+        when(bookRepository.findLatestSummaries(any(Pageable.class)))
+                .thenReturn(summaries(6, 5, 4))
+                .thenAnswer(invocation -> {
+                    // A writer committing while the refill queries must not wait for it
+                    Thread writer = new Thread(() ->
+                            feed.onBookChanged(new BookChangedEvent(book(7), EntityChangeType.CREATED)));
+                    writer.start();
+                    writer.join(5000);
+                    assertFalse(writer.isAlive(), "the writer waited for the refill query");
+                    return summaries(5, 4, 3);
+                });
+        feed.seed();
+
+        feed.onBookChanged(new BookChangedEvent(book(6), EntityChangeType.DELETED));
+
+        assertEquals(List.of(7L, 5L, 4L), ids(feed.latest(3)));
+        verify(bookRepository, times(2)).findLatestSummaries(any(Pageable.class));
+    }
+
+    private Book book(long id) {
+        Book book = new Book("Book " + id, null, null, author);
+        book.setId(id);
+        book.setCreatedAt(START.plusDays(id));
+        return book;
+    }
+
+    private List<BookSummary> summaries(long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> BookSummary.from(book(id))).toList();
+    }
+
+    private static List<Long> ids(List<BookSummary> summaries) {
+        return summaries.stream().map(BookSummary::getId).toList();
+    }
+}
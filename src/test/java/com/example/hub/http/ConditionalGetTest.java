@@ -0,0 +1,126 @@
+package com.example.hub.http;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.service.AuthorService;
+import com.example.hub.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: versions move on committed change events, so every write here commits.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    void aBookIsNotResentUntilItChanges() throws Exception {
+        Author author = newAuthor();
+        Book book = bookService.createBook(new Book("Conditional Book", null, null, author));
+        String path = "/api/books/" + book.getId();
+
+        MvcResult first = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get(path).header(HttpHeaders.IF_MODIFIED_SINCE,
+                        first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+
+        Thread.sleep(5);
+        Book changed = new Book("Conditional Book, Revised", null, null, null);
+        bookService.updateBook(book.getId(), changed);
+
+        String revised = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Revised")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, revised);
+    }
+
+    @Test
+    void renamingTheAuthorChangesTheBooksVersion() throws Exception {
+        Author author = newAuthor();
+        Book book = bookService.createBook(new Book("Embedded Author", null, null, author));
+        String path = "/api/books/" + book.getId();
+        String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Thread.sleep(5);
+        authorService.updateAuthor(author.getId(), new Author("Renamed Author", author.getEmail(), null));
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Renamed Author")));
+    }
+
+    @Test
+    void anAuthorIsResentWhenItsBookCountChanges() throws Exception {
+        Author author = newAuthor();
+        String path = "/api/authors/" + author.getId();
+        String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        bookService.createBook(new Book("Counted Book", null, null, author));
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listsAreNotResentUntilAWriteCommits() throws Exception {
+        String etag = mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // Two writes in one second would share a Last-Modified time, so lists only answer ETags
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk());
+
+        bookService.createBook(new Book("Listed Book", null, null, newAuthor()));
+
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private Author newAuthor() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        return authorService.createAuthor(new Author("Author " + unique, unique + "@example.com", null));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.hub.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkIngestServiceTest {
+
+    private final IngestChunkWriter chunkWriter = mock(IngestChunkWriter.class);
+    private final List<List<Long>> chunksWritten = new ArrayList<>();
+    private BulkIngestService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkIngestService();
+        ReflectionTestUtils.setField(service, "chunkWriter", chunkWriter);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "chunkSize", 3);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+
+        // Stands in for the database: a chunk holding a "taken" email is refused whole,
+        // and a record without a name is rejected on its own
+        when(chunkWriter.writeAuthors(anyList())).thenAnswer(invocation -> {
+            List<IngestLine<AuthorIngestRecord>> lines = invocation.getArgument(0);
+            chunksWritten.add(lines.stream().map(IngestLine::getNumber).toList());
+            if (lines.stream().anyMatch(line -> "taken@example.com".equals(line.getRecord().getEmail()))) {
+                throw new DataIntegrityViolationException("chunk refused",
+                        new IllegalStateException("duplicate key uk_authors_email"));
+            }
+            ChunkResult result = new ChunkResult();
+            for (IngestLine<AuthorIngestRecord> line : lines) {
+                if (line.getRecord().getName() == null) {
+                    result.reject(line, "name: must not be blank");
+                } else {
+                    result.recordInserted();
+                }
+            }
+            return result;
+        });
+    }
+
+    @Test
+    void recordsAreWrittenInChunksNumberedByFeedLine() throws IOException {
+        IngestReport report = service.ingestAuthors(feed(
+                author("A", "a@example.com"),
+                "",
+                author("B", "b@example.com"),
+                author("C", "c@example.com"),
+                author("D", "d@example.com")));
+
+        assertEquals(List.of(List.of(1L, 3L, 4L), List.of(5L)), chunksWritten);
+        assertEquals(4, report.getReceived());
+        assertEquals(4, report.getInserted());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.getErrors().isEmpty());
+    }
+
+    @Test
+    void malformedLinesAreReportedAndSkipped() throws IOException {
+        IngestReport report = service.ingestAuthors(feed(
+                author("A", "a@example.com"),
+                "{\"name\": ",
+                author("B", "b@example.com")));
+
+        assertEquals(List.of(List.of(1L, 3L)), chunksWritten);
+        assertEquals(3, report.getReceived());
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed record"));
+    }
+
+    @Test
+    void recordsRejectedByTheWriterAreReportedWithTheirLine() throws IOException {
+        IngestReport report = service.ingestAuthors(feed(
+                author("A", "a@example.com"),
+                "{\"email\":\"nameless@example.com\"}"));
+
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals("name: must not be blank", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void aRefusedChunkIsRetriedOneRecordAtATime() throws IOException {
+        IngestReport report = service.ingestAuthors(feed(
+                author("A", "a@example.com"),
+                author("Taken", "taken@example.com"),
+                author("C", "c@example.com"),
+                author("D", "d@example.com")));
+
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L), List.of(4L)),
+                chunksWritten);
+        assertEquals(3, report.getInserted());
+        assertEquals(1, report.getFailed());
+        IngestError error = report.getErrors().get(0);
+        assertEquals(2, error.getLine());
+        assertEquals("duplicate key uk_authors_email", error.getMessage());
+    }
+
+    @Test
+    void errorsBeyondTheReportLimitAreCountedButNotListed() throws IOException {
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 2);
+
+        IngestReport report = service.ingestAuthors(feed("x", "y", "z", author("A", "a@example.com")));
+
+        assertEquals(1, report.getInserted());
+        assertEquals(3, report.getFailed());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+    }
+
+    private static String author(String name, String email) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}";
+    }
+
+    private static ByteArrayInputStream feed(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hub.pagination;
+
+import com.example.hub.entity.Author;
+import com.example.hub.entity.Book;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional
+class KeysetPaginatorTest {
+
+    // The seeded books have no genre, so filtering on this one sees only the books made here
+    private static final Book.Genre GENRE = Book.Genre.OTHER;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final List<Long> tens = new ArrayList<>();
+    private final List<Long> twenties = new ArrayList<>();
+    private final List<Long> unpriced = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Author author = authorRepository.save(new Author("Keyset Author", "keyset@example.com", null));
+        for (int i = 0; i < 4; i++) {
+            tens.add(book(author, "Ten " + i, new BigDecimal("10.00")));
+        }
+        for (int i = 0; i < 3; i++) {
+            unpriced.add(book(author, "Unpriced " + i, null));
+        }
+        for (int i = 0; i < 2; i++) {
+            twenties.add(book(author, "Twenty " + i, new BigDecimal("20.00")));
+        }
+    }
+
+    @Test
+    void cursorRoundTripsWithAndWithoutAValue() {
+        SeekCursor priced = SeekCursor.decode(new SeekCursor("price", Sort.Direction.DESC, 42L, "9.50").encode());
+        assertEquals("price", priced.getField());
+        assertEquals(Sort.Direction.DESC, priced.getDirection());
+        assertEquals(42L, priced.getLastId());
+        assertEquals("9.50", priced.getLastValue());
+
+        SeekCursor unpricedCursor = SeekCursor.decode(new SeekCursor("price", Sort.Direction.ASC, 7L, null).encode());
+        assertEquals(7L, unpricedCursor.getLastId());
+        assertNull(unpricedCursor.getLastValue());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksAfter(
+                new SeekCursor("isbn", Sort.Direction.ASC, 1L, "x").encode(), null, null, 2, GENRE));
+    }
+
+    @Test
+    void ascendingPagesContinueAcrossEqualPricesAndIntoUnpricedBooks() {
+        List<Long> expected = new ArrayList<>(tens);
+        expected.addAll(twenties);
+        expected.addAll(unpriced);
+        assertEquals(expected, walk("asc", 2));
+        assertEquals(expected, walk("asc", 3));
+    }
+
+    @Test
+    void descendingPagesKeepUnpricedBooksLast() {
+        List<Long> expected = reversed(twenties);
+        expected.addAll(reversed(tens));
+        expected.addAll(reversed(unpriced));
+        assertEquals(expected, walk("desc", 2));
+        assertEquals(expected, walk("desc", 4));
+    }
+
+    @Test
+    void aPageEndingOnTheLastPricedBookContinuesWithTheUnpricedOnes() {
+        CursorPage<Book> first = bookService.getBooksAfter(null, "price", "asc", 6, GENRE);
+        assertEquals(twenties.get(1), first.getContent().get(5).getId());
+        assertNotNull(first.getNextCursor());
+
+        CursorPage<Book> second = bookService.getBooksAfter(first.getNextCursor(), null, null, 6, GENRE);
+        assertEquals(unpriced, second.getContent().stream().map(Book::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    private List<Long> walk(String direction, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Book> page = bookService.getBooksAfter(cursor, "price", direction, size, GENRE);
+            assertTrue(page.getContent().size() <= size);
+            page.getContent().forEach(book -> ids.add(book.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private Long book(Author author, String title, BigDecimal price) {
+        Book book = new Book(title, null, null, author);
+        book.setGenre(GENRE);
+        book.setPrice(price);
+        return bookRepository.save(book).getId();
+    }
+}
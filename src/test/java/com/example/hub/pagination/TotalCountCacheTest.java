@@ -0,0 +1,116 @@
+package com.example.hub.pagination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TotalCountCacheTest {
+
+    private final TotalCountCache cache = new TotalCountCache();
+    private final AtomicLong rows = new AtomicLong(5);
+    private final AtomicInteger counts = new AtomicInteger();
+    private final LongSupplier counter = () -> {
+        counts.incrementAndGet();
+        return rows.get();
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxStaleMillis", 300_000L);
+        // Only read-only transactions use cached totals
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        cache.shutdown();
+    }
+
+    @Test
+    void totalsAreCountedOncePerFilter() {
+        assertEquals(5, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        rows.set(7);
+        assertEquals(5, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        assertEquals(7, cache.getTotal(TotalCountCache.BOOKS, "genre=FICTION", counter));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void aWriteServesTheStaleTotalWhileRecountingInTheBackground() throws Exception {
+        cache.getTotal(TotalCountCache.BOOKS, "all", counter);
+        rows.set(6);
+        cache.onBookChanged(null);
+
+        assertEquals(5, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        drainRefreshes();
+        assertEquals(2, counts.get());
+        assertEquals(6, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void writesOnlyInvalidateTheirOwnEntity() throws Exception {
+        cache.getTotal(TotalCountCache.AUTHORS, "all", counter);
+        rows.set(9);
+        cache.onBookChanged(null);
+
+        assertEquals(5, cache.getTotal(TotalCountCache.AUTHORS, "all", counter));
+        drainRefreshes();
+        assertEquals(1, counts.get());
+
+        cache.onAuthorChanged(null);
+        cache.getTotal(TotalCountCache.AUTHORS, "all", counter);
+        drainRefreshes();
+        assertEquals(9, cache.getTotal(TotalCountCache.AUTHORS, "all", counter));
+    }
+
+    @Test
+    void aWriteCommittingDuringTheCountLeavesTheEntryStale() throws Exception {
+        cache.getTotal(TotalCountCache.BOOKS, "all", () -> {
+            cache.onBookChanged(null);
+            return 5;
+        });
+        rows.set(6);
+
+        assertEquals(5, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        drainRefreshes();
+        assertEquals(6, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+    }
+
+    @Test
+    void totalsPastTheStaleLimitAreRecountedBeforeAnswering() {
+        ReflectionTestUtils.setField(cache, "maxStaleMillis", -1L);
+        cache.getTotal(TotalCountCache.BOOKS, "all", counter);
+        rows.set(8);
+        assertEquals(8, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void readWriteTransactionsAlwaysCount() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        cache.getTotal(TotalCountCache.BOOKS, "all", counter);
+        rows.set(6);
+        assertEquals(6, cache.getTotal(TotalCountCache.BOOKS, "all", counter));
+        assertEquals(2, counts.get());
+    }
+
+    private void drainRefreshes() throws Exception {
+        ExecutorService refresher = (ExecutorService) ReflectionTestUtils.getField(cache, "refresher");
+        // Runs after any refresh already queued on the single refresh thread
+        refresher.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.hub.search;
+
+import com.example.hub.dto.AuthorSuggestion;
+import com.example.hub.entity.Author;
+import com.example.hub.event.AuthorChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.repository.projection.AuthorNameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorSuggestIndexTest {
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final AuthorSuggestIndex index = new AuthorSuggestIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "authorRepository", authorRepository);
+        ReflectionTestUtils.setField(index, "rebuildBatchSize", 2);
+        // Two full batches and a short one, so the rebuild pages by id
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(view(1L, "Ada Lovelace", "ada@example.com"), view(2L, "Grace Hopper", "grace@example.com")));
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenReturn(List.of(view(3L, "Émile Zola", "zola@example.com"), view(4L, "Lovelace Fan", "fan@example.com")));
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(eq(4L), any()))
+                .thenReturn(List.of(view(5L, "Alan Turing", "love@example.com")));
+        index.rebuild();
+    }
+
+    @Test
+    void rebuildReadsEveryBatch() {
+        assertTrue(index.isReady());
+        assertEquals(List.of(5L), ids(index.suggest("alan", 10)));
+    }
+
+    @Test
+    void fullNamesRankAheadOfLaterWordsAndThenEmails() {
+        assertEquals(List.of(4L, 1L, 5L), ids(index.suggest("Love", 10)));
+        assertEquals(List.of(4L, 1L), ids(index.suggest("love", 2)));
+    }
+
+    @Test
+    void prefixesAreNormalizedLikeTheNames() {
+        assertEquals(List.of(3L), ids(index.suggest("  EMILE ", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ada lov", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("grace@", 10)));
+    }
+
+    @Test
+    void blankPrefixesAndEmptyLimitsSuggestNothing() {
+        assertTrue(index.suggest("", 10).isEmpty());
+        assertTrue(index.suggest("  @ ", 10).isEmpty());
+        assertTrue(index.suggest("ada", 0).isEmpty());
+    }
+
+    @Test
+    void changesReplaceTheAuthorsPreviousKeys() {
+        index.onAuthorChanged(new AuthorChangedEvent(author(1L, "Augusta King", "augusta@example.com"), EntityChangeType.UPDATED));
+        assertTrue(index.suggest("ada", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("king", 10)));
+
+        index.onAuthorChanged(new AuthorChangedEvent(author(6L, "Adam Smith", null), EntityChangeType.CREATED));
+        assertEquals(List.of(6L), ids(index.suggest("ada", 10)));
+
+        index.onAuthorChanged(new AuthorChangedEvent(author(6L, "Adam Smith", null), EntityChangeType.DELETED));
+        assertTrue(index.suggest("ada", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<AuthorSuggestion> suggestions) {
+        return suggestions.stream().map(AuthorSuggestion::getId).toList();
+    }
+
+    private static Author author(Long id, String name, String email) {
+        Author author = new Author(name, email, null);
+        author.setId(id);
+        return author;
+    }
+
+    private static AuthorNameView view(Long id, String name, String email) {
+        return new AuthorNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hub.search;
+
+import com.example.hub.entity.Book;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookTextView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookSearchIndexTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "bookRepository", bookRepository);
+        ReflectionTestUtils.setField(index, "rebuildBatchSize", 2);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(
+                text(1L, "Gardening Basics", "Notes on roses and the odd dragon"),
+                text(2L, "Dragon Lore", "A field guide")));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of(
+                text(3L, "Les Misérables", null)));
+    }
+
+    @Test
+    void notReadyUntilRebuilt() {
+        assertFalse(index.isReady());
+        index.rebuild();
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        index.rebuild();
+        assertEquals(List.of(2L, 1L), index.search("dragon", 10));
+    }
+
+    @Test
+    void queriesAreFoldedLikeTheIndexedText() {
+        index.rebuild();
+        assertEquals(List.of(3L), index.search("MISERABLES", 10));
+        assertEquals(List.of(3L), index.search("misér", 10));
+        assertTrue(index.search("  ?! ", 10).isEmpty());
+    }
+
+    @Test
+    void changesDuringAndAfterTheRebuildAreApplied() {
+        index.rebuild();
+        index.onBookChanged(new BookChangedEvent(book(4L, "Dragon Cooking", null), EntityChangeType.CREATED));
+        index.onBookChanged(new BookChangedEvent(book(2L, "Field Guide", null), EntityChangeType.UPDATED));
+        index.onBookChanged(new BookChangedEvent(book(1L, null, null), EntityChangeType.DELETED));
+
+        assertEquals(List.of(4L), index.search("dragon", 10));
+        assertEquals(List.of(2L), index.search("field guide", 10));
+    }
+
+    private static Book book(Long id, String title, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setDescription(description);
+        return book;
+    }
+
+    private static BookTextView text(Long id, String title, String description) {
+        return new BookTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.hub.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put(1L, Map.of("java", 1, "spring", 1, "guide", 1));
+        index.put(2L, Map.of("java", 3, "guide", 1));
+        index.put(3L, Map.of("python", 1, "guide", 1));
+    }
+
+    @Test
+    void moreOccurrencesOfATermRankHigher() {
+        assertEquals(List.of(2L, 1L), index.search(List.of("java"), 10));
+    }
+
+    @Test
+    void shorterDocumentsRankHigherForTheSameFrequency() {
+        assertEquals(List.of(3L, 1L, 2L), index.search(List.of("guide"), 10));
+    }
+
+    @Test
+    void rarerTermsOutweighCommonOnes() {
+        InvertedIndex weighted = new InvertedIndex();
+        weighted.put(10L, Map.of("rare", 2, "common", 1));
+        weighted.put(11L, Map.of("rare", 1, "common", 2));
+        for (long id = 12; id < 15; id++) {
+            weighted.put(id, Map.of("common", 1, "filler", 2));
+        }
+        // Same length and the same two terms; the one repeating the rarer term wins
+        assertEquals(List.of(10L, 11L), weighted.search(List.of("common", "rare"), 10));
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        assertEquals(List.of(1L), index.search(List.of("java", "spring"), 10));
+        assertTrue(index.search(List.of("java", "python"), 10).isEmpty());
+        assertTrue(index.search(List.of("rust"), 10).isEmpty());
+        assertTrue(index.search(List.of(), 10).isEmpty());
+    }
+
+    @Test
+    void termsWithoutAnExactMatchAreExpandedAsPrefixes() {
+        index.put(4L, Map.of("springs", 1));
+        assertEquals(List.of(2L, 1L), index.search(List.of("jav"), 10));
+        assertEquals(List.of(1L), index.search(List.of("spring"), 10));
+        assertEquals(List.of(1L, 4L), index.search(List.of("spri"), 10).stream().sorted().toList());
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        assertEquals(List.of(3L), index.search(List.of("guide"), 1));
+    }
+
+    @Test
+    void equalScoresAreOrderedById() {
+        InvertedIndex twins = new InvertedIndex();
+        twins.put(9L, Map.of("same", 1));
+        twins.put(4L, Map.of("same", 1));
+        assertEquals(List.of(4L, 9L), twins.search(List.of("same"), 10));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsADocument() {
+        index.put(2L, Map.of("kotlin", 1));
+        assertEquals(List.of(1L), index.search(List.of("java"), 10));
+        assertEquals(List.of(2L), index.search(List.of("kotlin"), 10));
+
+        index.remove(2L);
+        index.remove(42L);
+        assertEquals(2, index.size());
+        assertTrue(index.search(List.of("kotlin"), 10).isEmpty());
+
+        index.put(1L, Map.of());
+        assertEquals(1, index.size());
+        assertTrue(index.search(List.of("java"), 10).isEmpty());
+    }
+}
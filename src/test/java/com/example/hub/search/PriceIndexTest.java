@@ -0,0 +1,100 @@
+package com.example.hub.search;
+
+import com.example.hub.entity.Book;
+import com.example.hub.event.BookChangedEvent;
+import com.example.hub.event.EntityChangeType;
+import com.example.hub.repository.BookRepository;
+import com.example.hub.repository.projection.BookPriceView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceIndexTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final PriceIndex priceIndex = new PriceIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(priceIndex, "bookRepository", bookRepository);
+        ReflectionTestUtils.setField(priceIndex, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    void firstPricedBookAfterAnEmptyRebuild() {
+        when(bookRepository.findPricesAfter(anyLong(), any())).thenReturn(List.of());
+        priceIndex.rebuild();
+        assertTrue(priceIndex.isReady());
+        assertEquals(0, priceIndex.count(0, Long.MAX_VALUE));
+
+        priceIndex.onBookChanged(changed(1L, "12.99", EntityChangeType.CREATED));
+        priceIndex.onBookChanged(changed(2L, "4.50", EntityChangeType.CREATED));
+
+        assertEquals(2, priceIndex.count(0, 10_000));
+        assertEquals(1, priceIndex.count(1000, 1299));
+        assertArrayEquals(new long[]{2, 1}, priceIndex.slice(0, 10_000, 0, 10, false));
+        assertArrayEquals(new long[]{1, 1}, priceIndex.histogram(0, 1999, 1000));
+    }
+
+    @Test
+    void updateMovesABookToItsNewPrice() {
+        when(bookRepository.findPricesAfter(anyLong(), any()))
+                .thenReturn(List.of(price(1L, "5.00"), price(2L, "15.00")));
+        priceIndex.rebuild();
+
+        priceIndex.onBookChanged(changed(1L, "25.00", EntityChangeType.UPDATED));
+
+        assertEquals(0, priceIndex.count(0, 999));
+        assertArrayEquals(new long[]{1, 2}, priceIndex.slice(0, 10_000, 0, 10, true));
+
+        // Losing its price takes the book out of the index
+        priceIndex.onBookChanged(changed(1L, null, EntityChangeType.UPDATED));
+        assertEquals(1, priceIndex.count(0, 10_000));
+    }
+
+    @Test
+    void deleteRemovesTheBook() {
+        when(bookRepository.findPricesAfter(anyLong(), any()))
+                .thenReturn(List.of(price(1L, "5.00"), price(2L, "15.00")));
+        priceIndex.rebuild();
+
+        priceIndex.onBookChanged(changed(2L, "15.00", EntityChangeType.DELETED));
+        priceIndex.onBookChanged(changed(1L, "5.00", EntityChangeType.DELETED));
+
+        assertEquals(0, priceIndex.count(0, Long.MAX_VALUE));
+        assertEquals(0, priceIndex.slice(0, Long.MAX_VALUE, 0, 10, false).length);
+
+        priceIndex.onBookChanged(changed(3L, "7.00", EntityChangeType.CREATED));
+        assertEquals(1, priceIndex.count(700, 700));
+    }
+
+    private static BookChangedEvent changed(Long id, String price, EntityChangeType type) {
+        Book book = new Book();
+        book.setId(id);
+        book.setPrice(price == null ? null : new BigDecimal(price));
+        return new BookChangedEvent(book, type);
+    }
+
+    private static BookPriceView price(Long id, String price) {
+        return new BookPriceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return new BigDecimal(price);
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hub.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedLongPairsTest {
+
+    @Test
+    void insertIntoAnEmptyStructure() {
+        SortedLongPairs pairs = SortedLongPairs.ofSorted(new long[0], new long[0], 0);
+
+        pairs.insert(1499, 7);
+
+        assertEquals(1, pairs.size());
+        assertEquals(0, pairs.countBelow(1499));
+        assertEquals(1, pairs.countAtMost(1499));
+        assertEquals(1499, pairs.keyAt(0));
+        assertEquals(7, pairs.valueAt(0));
+    }
+
+    @Test
+    void queriesOnAnEmptyStructure() {
+        SortedLongPairs pairs = new SortedLongPairs();
+
+        assertEquals(0, pairs.countBelow(10));
+        assertEquals(0, pairs.countAtMost(Long.MAX_VALUE));
+        assertFalse(pairs.remove(10, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> pairs.keyAt(0));
+    }
+
+    @Test
+    void insertsPastOneBlockSplitAndStayOrdered() {
+        SortedLongPairs pairs = new SortedLongPairs();
+        int count = SortedLongPairs.MAX_BLOCK * 3;
+        // Descending keys, so every insert lands in the first block
+        for (int i = count - 1; i >= 0; i--) {
+            pairs.insert(i / 2, i);
+        }
+
+        assertEquals(count, pairs.size());
+        for (int rank = 0; rank < count; rank++) {
+            assertEquals(rank / 2, pairs.keyAt(rank));
+            assertEquals(rank, pairs.valueAt(rank));
+        }
+        assertEquals(SortedLongPairs.MAX_BLOCK, pairs.countBelow(SortedLongPairs.MAX_BLOCK / 2));
+        assertEquals(count, pairs.countAtMost(count));
+    }
+
+    @Test
+    void removeDownToEmptyAndInsertAgain() {
+        int count = SortedLongPairs.MAX_BLOCK + 10;
+        long[] keys = new long[count];
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = count - i;
+            values[i] = i;
+        }
+        SortedLongPairs pairs = SortedLongPairs.of(keys, values, count);
+
+        assertFalse(pairs.remove(1, 0), "the value must match too");
+        for (int i = 0; i < count; i++) {
+            assertTrue(pairs.remove(count - i, i));
+        }
+        assertEquals(0, pairs.size());
+        assertEquals(0, pairs.countAtMost(Long.MAX_VALUE));
+
+        pairs.insert(5, 1);
+        pairs.insert(3, 2);
+        assertEquals(2, pairs.size());
+        assertEquals(3, pairs.keyAt(0));
+        assertEquals(1, pairs.countBelow(5));
+    }
+
+    @Test
+    void duplicatePairsAreCountedAndRemovedOneAtATime() {
+        SortedLongPairs pairs = new SortedLongPairs();
+        pairs.insert(100, 1);
+        pairs.insert(100, 1);
+
+        assertEquals(2, pairs.countAtMost(100));
+        assertTrue(pairs.remove(100, 1));
+        assertEquals(1, pairs.countAtMost(100));
+    }
+}
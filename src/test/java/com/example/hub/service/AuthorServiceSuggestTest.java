@@ -0,0 +1,52 @@
+package com.example.hub.service;
+
+import com.example.hub.repository.AuthorRepository;
+import com.example.hub.search.AuthorSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The database fallback used until the suggest index is built.
+ */
+class AuthorServiceSuggestTest {
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final AuthorSuggestIndex authorSuggestIndex = mock(AuthorSuggestIndex.class);
+    private final AuthorService authorService = new AuthorService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authorService, "authorRepository", authorRepository);
+        ReflectionTestUtils.setField(authorService, "authorSuggestIndex", authorSuggestIndex);
+        when(authorSuggestIndex.isReady()).thenReturn(false);
+        when(authorRepository.findByNameStartingWithIgnoreCaseOrderByNameAsc(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void blankPrefixesSuggestNothingWithoutQuerying() {
+        assertTrue(authorService.suggestAuthors("", 10).isEmpty());
+        assertTrue(authorService.suggestAuthors("   ", 10).isEmpty());
+        verifyNoInteractions(authorRepository);
+    }
+
+    @Test
+    void limitsBelowOneSuggestNothingWithoutQuerying() {
+        assertTrue(authorService.suggestAuthors("ada", 0).isEmpty());
+        assertTrue(authorService.suggestAuthors("ada", -5).isEmpty());
+        verifyNoInteractions(authorRepository);
+    }
+
+    @Test
+    void theFallbackQueriesTheTrimmedPrefix() {
+        authorService.suggestAuthors(" ada ", 7);
+        verify(authorRepository).findByNameStartingWithIgnoreCaseOrderByNameAsc("ada", PageRequest.of(0, 7));
+    }
+}